@@ -0,0 +1,112 @@
+package com.content.springboot_rest_api.mapper;
+
+import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Category;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.entity.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bandingkan ArticleMapper dengan jalur ModelMapper lama (mapToResponse / toEntity sebelum mapper eksplisit).
+ * Jalankan: mvn -Pjmh test-compile exec:exec
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleMapperBenchmark {
+
+    private ArticleMapper articleMapper;
+    private ModelMapper modelMapper;
+    private Article article;
+    private ArticleDto request;
+
+    @Setup
+    public void setUp() {
+        articleMapper = new ArticleMapper();
+        modelMapper = new ModelMapper();
+
+        User author = new User();
+        author.setId(7L);
+        author.setFullName("Benchmark Author");
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Backend");
+        Set<Tag> tags = new LinkedHashSet<>();
+        for (long i = 1; i <= 3; i++) {
+            Tag tag = new Tag();
+            tag.setId(i);
+            tag.setName("tag-" + i);
+            tags.add(tag);
+        }
+
+        article = new Article();
+        article.setId(42L);
+        article.setTitle("Benchmarking mappers");
+        article.setSlug("benchmarking-mappers");
+        article.setContent("lorem ipsum ".repeat(400));
+        article.setThumbnailUrlApprove("/uploads/photos/thumbnails/abc.png");
+        article.setAuthCode("A");
+        article.setActionCode("A");
+        article.setViews(1234L);
+        article.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        article.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 10, 0));
+        article.setAuthor(author);
+        article.setCategory(category);
+        article.setTags(tags);
+
+        request = new ArticleDto();
+        request.setTitle("Benchmarking mappers");
+        request.setContent("lorem ipsum ".repeat(400));
+        request.setCategoryId(3L);
+        request.setTagIds(List.of(1L, 2L, 3L));
+    }
+
+    @Benchmark
+    public ArticleDto explicitToDto() {
+        return articleMapper.toDto(article);
+    }
+
+    // sama dengan ArticleServiceImpl.mapToResponse sebelum ArticleMapper
+    @Benchmark
+    public ArticleDto modelMapperToDto() {
+        ArticleDto dto = modelMapper.map(article, ArticleDto.class);
+        dto.setAuthorId(article.getAuthor().getId());
+        dto.setAuthorName(article.getAuthor().getFullName());
+        dto.setCategoryId(article.getCategory().getId());
+        dto.setCategoryName(article.getCategory().getName());
+
+        dto.setThumbnailUrlPending(article.getThumbnailUrlPending());
+        dto.setThumbnailUrlApprove(article.getThumbnailUrlApprove());
+
+        if (article.getTags() != null && !article.getTags().isEmpty()) {
+            dto.setTagIds(article.getTags().stream().map(Tag::getId).toList());
+            dto.setTagNames(article.getTags().stream().map(Tag::getName).toList());
+        } else {
+            dto.setTagIds(Collections.emptyList());
+            dto.setTagNames(Collections.emptyList());
+        }
+        return dto;
+    }
+
+    @Benchmark
+    public Article explicitToEntity() {
+        return articleMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Article modelMapperToEntity() {
+        return modelMapper.map(request, Article.class);
+    }
+}
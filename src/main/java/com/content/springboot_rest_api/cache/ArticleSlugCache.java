@@ -0,0 +1,112 @@
+package com.content.springboot_rest_api.cache;
+
+import com.content.springboot_rest_api.dto.ArticleDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache in-process ArticleDto per slug (read-through).
+ * - dibatasi ukuran (FIFO) dan TTL
+ * - miss bersamaan untuk slug yang sama digabung jadi satu load ke DB (single-flight)
+ * - di-invalidate dari approve / reject / update / delete artikel
+ */
+@Component
+public class ArticleSlugCache {
+
+    private final ConcurrentHashMap<String, CompletableFuture<CachedArticle>> entries = new ConcurrentHashMap<>();
+    // urutan insert untuk eviction, hanya disentuh saat miss (bukan di jalur hit)
+    private final LinkedHashSet<String> insertionOrder = new LinkedHashSet<>();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public ArticleSlugCache(@Value("${app.cache.article-slug.max-size:1000}") int maxSize,
+                            @Value("${app.cache.article-slug.ttl-seconds:60}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public ArticleDto get(String slug, Function<String, ArticleDto> loader) {
+        while (true) {
+            CompletableFuture<CachedArticle> current = entries.get(slug);
+            if (current != null) {
+                if (!current.isDone()) {
+                    // sudah ada request lain yang sedang load slug ini, tunggu hasilnya
+                    return await(current).article();
+                }
+                CachedArticle cached = current.isCompletedExceptionally() ? null : current.join();
+                if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+                    return cached.article();
+                }
+                entries.remove(slug, current);
+            }
+
+            CompletableFuture<CachedArticle> loading = new CompletableFuture<>();
+            if (entries.putIfAbsent(slug, loading) != null) {
+                continue; // kalah balapan, pakai load milik request lain
+            }
+            recordInsert(slug);
+
+            try {
+                ArticleDto article = loader.apply(slug);
+                loading.complete(new CachedArticle(article, System.nanoTime() + ttlNanos));
+                return article;
+            } catch (RuntimeException e) {
+                // error (mis. 404) tidak di-cache
+                entries.remove(slug, loading);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void invalidate(String slug) {
+        if (slug == null) return;
+        entries.remove(slug);
+
+        // invalidate lagi setelah commit, supaya reader yang load di tengah transaksi
+        // tidak menyimpan versi lama
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(slug);
+                }
+            });
+        }
+    }
+
+    private synchronized void recordInsert(String slug) {
+        insertionOrder.remove(slug);
+        insertionOrder.add(slug);
+
+        Iterator<String> oldest = insertionOrder.iterator();
+        while (insertionOrder.size() > maxSize && oldest.hasNext()) {
+            String evicted = oldest.next();
+            oldest.remove();
+            entries.remove(evicted);
+        }
+    }
+
+    private CachedArticle await(CompletableFuture<CachedArticle> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedArticle(ArticleDto article, long expiresAt) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.content.springboot_rest_api.cache;
+
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache response publik (approved articles / categories / tags) dalam bentuk
+ * JSON yang sudah di-serialize (byte[] UTF-8).
+ * Setelah ada approval, entry di-refresh di background; selama refresh
+ * berjalan reader tetap dilayani dari copy lama (stale-while-revalidate).
+ * Tiap versi body membawa ETag (hash isi) & Last-Modified untuk conditional GET,
+ * plus copy gzip yang dikompres sekali per perubahan isi (bukan per request).
+ */
+@Component
+@Slf4j
+public class PublicResponseCache {
+
+    // body kecil tidak sebanding dengan overhead header gzip
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    public static final String APPROVED_ARTICLES = "articles:approved";
+    public static final String APPROVED_CATEGORIES = "categories:approved";
+    public static final String APPROVED_TAGS = "tags:approved";
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "public-response-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PublicResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Ambil body JSON untuk key. Kalau belum ada, dibangun sekali secara sinkron
+     * (request pertama); error dari builder (mis. 404) diteruskan dan tidak di-cache.
+     */
+    public CachedResponse get(String key, Supplier<?> builder) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot(builder));
+        CachedResponse response = slot.response;
+        if (response != null) {
+            return response;
+        }
+        synchronized (slot) {
+            if (slot.response == null) {
+                slot.response = build(slot, null);
+            }
+            return slot.response;
+        }
+    }
+
+    // jadwalkan refresh setelah transaksi commit (atau langsung kalau tidak ada transaksi)
+    public void refreshAfterCommit(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(key);
+                }
+            });
+        } else {
+            refresh(key);
+        }
+    }
+
+    public void refresh(String key) {
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            return; // belum pernah diminta, nanti dibangun saat request pertama
+        }
+        // beberapa approval berturut-turut cukup memicu satu refresh yang antre
+        if (!slot.refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            slot.refreshQueued.set(false);
+            try {
+                slot.response = build(slot, slot.response);
+            } catch (RuntimeException e) {
+                // mis. list jadi kosong (404): buang copy lama, request berikutnya build ulang
+                slot.response = null;
+                log.warn("Failed to refresh public response cache for {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private CachedResponse build(Slot slot, CachedResponse previous) {
+        byte[] body = serialize(slot.builder.get());
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        // isi sama (mis. approval yang tidak mengubah feed) -> validator tetap, client tetap dapat 304
+        if (previous != null && previous.etag().equals(etag)) {
+            return previous;
+        }
+        return new CachedResponse(body, gzip(body), etag, System.currentTimeMillis());
+    }
+
+    // null kalau body terlalu kecil atau hasil kompresi tidak lebih kecil
+    private byte[] gzip(byte[] body) {
+        if (body.length < GZIP_MIN_SIZE) {
+            return null;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer) {
+            {
+                // dikompres sekali per versi, jadi pakai level maksimum
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = buffer.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new GlobalAPIException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Failed to serialize response: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static final class Slot {
+        private final Supplier<?> builder;
+        private final AtomicBoolean refreshQueued = new AtomicBoolean();
+        private volatile CachedResponse response;
+
+        private Slot(Supplier<?> builder) {
+            this.builder = builder;
+        }
+    }
+
+    public record CachedResponse(byte[] body, byte[] gzipBody, String etag, long lastModified) {
+
+        // representasi gzip butuh ETag sendiri (beda byte dengan versi identity)
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.content.springboot_rest_api.component;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Skor trending artikel: views yang meluruh eksponensial (half-life bisa diatur),
+ * global dan per kategori, murni di memory.
+ * Tiap view disimpan dengan bobot e^(lambda * (t - landmark)), jadi skor lama tidak perlu
+ * diluruhkan satu-satu; urutan antar artikel tetap benar karena faktor peluruhannya sama.
+ * Job prune berkala memindahkan landmark (rescale) dan membuang artikel yang skornya sudah ~0.
+ */
+@Component
+public class ArticleTrendingTracker {
+
+    // skor di bawah ini (setara 1% dari satu view baru) dibuang saat prune
+    private static final double MIN_SCORE = 0.01;
+    // rescale paksa sebelum bobot mendekati batas double
+    private static final double MAX_EXPONENT = 500;
+
+    private final double lambdaPerMs;
+    private final Clock clock;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> articlesByCategory = new ConcurrentHashMap<>();
+    // read lock: recordView / top; write lock: rescale (semua skor dikali ulang)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long landmark;
+
+    @Autowired
+    public ArticleTrendingTracker(@Value("${app.trending.half-life-hours:6}") double halfLifeHours) {
+        this(halfLifeHours, Clock.systemUTC());
+    }
+
+    // clock bisa diganti di test supaya peluruhan & prune bisa diuji tanpa menunggu
+    ArticleTrendingTracker(double halfLifeHours, Clock clock) {
+        this.lambdaPerMs = Math.log(2) / (halfLifeHours * 3_600_000d);
+        this.clock = clock;
+        this.landmark = clock.millis();
+    }
+
+    public void recordView(Long articleId, Long categoryId) {
+        if (lambdaPerMs * (clock.millis() - landmark) > MAX_EXPONENT) {
+            prune();
+        }
+
+        lock.readLock().lock();
+        try {
+            double weight = Math.exp(lambdaPerMs * (clock.millis() - landmark));
+            Entry entry = entries.computeIfAbsent(articleId, id -> new Entry());
+            entry.score.add(weight);
+
+            // kategori artikel bisa berubah lewat edit
+            Long previous = entry.categoryId;
+            if (!Objects.equals(previous, categoryId)) {
+                entry.categoryId = categoryId;
+                if (previous != null) {
+                    removeFromCategory(previous, articleId);
+                }
+                if (categoryId != null) {
+                    articlesByCategory.compute(categoryId, (id, articleIds) -> {
+                        Set<Long> ids = articleIds != null ? articleIds : ConcurrentHashMap.newKeySet();
+                        ids.add(articleId);
+                        return ids;
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id artikel dengan skor tertinggi (urut menurun), global kalau categoryId null.
+     * Pakai min-heap berukuran limit, jadi tidak ada sort seluruh data.
+     */
+    public List<Long> topArticleIds(Long categoryId, int limit) {
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = categoryId == null
+                    ? entries.keySet()
+                    : articlesByCategory.getOrDefault(categoryId, Set.of());
+
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Long articleId : candidates) {
+                Entry entry = entries.get(articleId);
+                if (entry == null) {
+                    continue;
+                }
+                top.offer(Map.entry(articleId, entry.score.sum()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().getKey());
+            }
+            Collections.reverse(ranked);
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // skor saat ini (views yang sudah diluruhkan sampai sekarang), 0 kalau tidak ada
+    double score(Long articleId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(articleId);
+            return entry == null ? 0 : entry.score.sum() * Math.exp(-lambdaPerMs * (clock.millis() - landmark));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // artikel dihapus / tidak approved lagi
+    public void remove(Long articleId) {
+        Entry entry = entries.remove(articleId);
+        if (entry != null && entry.categoryId != null) {
+            removeFromCategory(entry.categoryId, articleId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.prune-interval-ms:60000}")
+    public void prune() {
+        lock.writeLock().lock();
+        try {
+            long now = clock.millis();
+            double factor = Math.exp(-lambdaPerMs * (now - landmark));
+
+            Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Entry> item = iterator.next();
+                Entry entry = item.getValue();
+                double decayed = entry.score.sum() * factor;
+                if (decayed < MIN_SCORE) {
+                    iterator.remove();
+                    if (entry.categoryId != null) {
+                        removeFromCategory(entry.categoryId, item.getKey());
+                    }
+                } else {
+                    entry.score.reset();
+                    entry.score.add(decayed);
+                }
+            }
+            landmark = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromCategory(Long categoryId, Long articleId) {
+        articlesByCategory.computeIfPresent(categoryId, (id, articleIds) -> {
+            articleIds.remove(articleId);
+            return articleIds.isEmpty() ? null : articleIds;
+        });
+    }
+
+    private static final class Entry {
+        private final DoubleAdder score = new DoubleAdder();
+        private volatile Long categoryId;
+    }
+}
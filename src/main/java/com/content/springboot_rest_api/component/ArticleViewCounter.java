@@ -0,0 +1,91 @@
+package com.content.springboot_rest_api.component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter views artikel (write-behind).
+ * Read endpoint cukup increment di memory, lalu semua delta di-flush
+ * berkala dalam satu batch UPDATE, jadi baris artikel tidak di-lock tiap kali dibaca.
+ */
+@Component
+@Slf4j
+public class ArticleViewCounter {
+
+    private static final String FLUSH_SQL = "UPDATE articles SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // total views yang sudah di-flush node ini sejak start, tidak pernah di-reset (lihat countedViews)
+    private final Map<Long, LongAdder> flushed = new ConcurrentHashMap<>();
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(Long articleId) {
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+    }
+
+    // views yang belum di-flush, supaya response tetap menampilkan angka terbaru
+    public long pendingViews(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    public long flushedViews(Long articleId) {
+        LongAdder adder = flushed.get(articleId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * Semua views yang dihitung node ini (sudah + belum di-flush). Tidak turun saat flush,
+     * jadi snapshot yang menyimpan "views DB - flushedViews" cukup ditambah nilai ini untuk angka terbaru.
+     */
+    public long countedViews(Long articleId) {
+        return flushedViews(articleId) + pendingViews(articleId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                // dicatat sebelum UPDATE supaya countedViews tidak sempat turun di tengah flush
+                flushed.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(delta);
+                batch.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed view counts for {} articles", batch.size());
+        } catch (RuntimeException e) {
+            // kembalikan delta supaya ikut di flush berikutnya
+            for (Object[] row : batch) {
+                pending.computeIfAbsent((Long) row[1], id -> new LongAdder()).add((Long) row[0]);
+                flushed.get((Long) row[1]).add(-(Long) row[0]);
+            }
+            log.warn("Failed to flush view counts, will retry on next run", e);
+        }
+    }
+
+    // drain sisa counter saat aplikasi shutdown
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
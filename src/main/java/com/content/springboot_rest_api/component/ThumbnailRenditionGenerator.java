@@ -0,0 +1,273 @@
+package com.content.springboot_rest_api.component;
+
+import com.content.springboot_rest_api.cache.ArticleSlugCache;
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import com.content.springboot_rest_api.storage.BlobStore;
+import com.content.springboot_rest_api.storage.UploadPathResolver;
+import com.content.springboot_rest_api.storage.UploadStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Membuat rendition thumbnail (lebar tetap, JPEG tanpa metadata) di background.
+ * Upload cukup menyimpan file asli lalu enqueue job setelah commit; job menulis file
+ * "<nama>_w<lebar>.jpg" di BlobStore (namespace thumbnails) dan mencatat path-nya di artikel.
+ * Format yang tidak bisa dibaca ImageIO (svg, webp, heic) dilewati, client tetap pakai file asli.
+ */
+@Component
+@Slf4j
+public class ThumbnailRenditionGenerator {
+
+    // tolak gambar raksasa sebelum di-decode (decompression bomb)
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    private final ArticlesRepository articlesRepository;
+    private final ArticleSlugCache articleSlugCache;
+    private final PublicResponseCache publicResponseCache;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Integer> widths;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailRenditionGenerator(ArticlesRepository articlesRepository,
+                                       ArticleSlugCache articleSlugCache,
+                                       PublicResponseCache publicResponseCache,
+                                       BlobStore blobStore,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.thumbnail.rendition.widths:320,640,1280}") List<Integer> widths,
+                                       @Value("${app.thumbnail.rendition.quality:0.8}") float quality,
+                                       @Value("${app.thumbnail.rendition.threads:2}") int threads,
+                                       @Value("${app.thumbnail.rendition.queue-capacity:1000}") int queueCapacity) {
+        this.articlesRepository = articlesRepository;
+        this.articleSlugCache = articleSlugCache;
+        this.publicResponseCache = publicResponseCache;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.widths = widths.stream().distinct().sorted().toList();
+        this.quality = quality;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-rendition-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // enqueue setelah commit, supaya job tidak mendahului insert/update artikelnya
+    public void generateAfterCommit(Long articleId, String sourcePath) {
+        if (articleId == null || sourcePath == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(articleId, sourcePath);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(articleId, sourcePath);
+            }
+        });
+    }
+
+    // hapus semua rendition milik satu file thumbnail
+    public void deleteRenditions(String sourcePath) {
+        if (sourcePath == null) {
+            return;
+        }
+        for (int width : widths) {
+            try {
+                blobStore.delete(renditionKey(sourcePath, width));
+            } catch (IOException e) {
+                log.warn("Failed to delete thumbnail rendition {}w of {}", width, sourcePath, e);
+            }
+        }
+    }
+
+    // format kolom: "320=/uploads/..._w320.jpg,640=/uploads/..._w640.jpg"
+    public static Map<Integer, String> parse(String renditions) {
+        if (renditions == null || renditions.isBlank()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, String> result = new TreeMap<>();
+        for (String entry : renditions.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                result.put(Integer.valueOf(entry.substring(0, separator)), entry.substring(separator + 1));
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long articleId, String sourcePath) {
+        try {
+            executor.execute(() -> process(articleId, sourcePath));
+        } catch (RejectedExecutionException e) {
+            // antrian penuh: artikel tetap punya thumbnail asli
+            log.warn("Thumbnail rendition queue full, skipping article {}", articleId);
+        }
+    }
+
+    private void process(Long articleId, String sourcePath) {
+        try {
+            BufferedImage image = read(UploadStorage.keyOf(sourcePath));
+            if (image == null) {
+                log.debug("Thumbnail {} is not readable by ImageIO, no renditions generated", sourcePath);
+                return;
+            }
+
+            StringJoiner renditions = new StringJoiner(",");
+            for (int width : widths) {
+                // tidak di-upscale; lebar terkecil tetap dibuat (recompress) supaya list view selalu punya versi ringan
+                if (width >= image.getWidth() && width != widths.get(0)) {
+                    continue;
+                }
+                String key = renditionKey(sourcePath, width);
+                // nama sumber = hash isi, jadi rendition yang sudah ada pasti untuk gambar yang sama
+                if (!blobStore.exists(key)) {
+                    write(resize(image, Math.min(width, image.getWidth())), key);
+                }
+                renditions.add(width + "=" + UploadStorage.PUBLIC_PREFIX + key);
+            }
+            record(articleId, sourcePath, renditions.toString());
+        } catch (Exception e) {
+            log.warn("Failed to generate thumbnail renditions for article {} ({})", articleId, sourcePath, e);
+        }
+    }
+
+    // simpan path rendition, hanya kalau thumbnail artikel masih file yang sama
+    private void record(Long articleId, String sourcePath, String renditions) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int pending = articlesRepository.updatePendingRenditions(articleId, sourcePath, renditions);
+            int approved = articlesRepository.updateApprovedRenditions(articleId, sourcePath, renditions);
+            if (pending + approved == 0) {
+                // thumbnail sudah diganti / artikel dihapus sebelum job selesai; file rendition tidak dihapus
+                // di sini karena bisa dipakai artikel lain dengan gambar yang sama
+                return;
+            }
+            articlesRepository.findSlugById(articleId).ifPresent(articleSlugCache::invalidate);
+            if (approved > 0) {
+                publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_ARTICLES);
+            }
+        });
+    }
+
+    private BufferedImage read(String key) throws IOException {
+        InputStream content = blobStore.get(key);
+        if (content == null) {
+            return null;
+        }
+        try (content; ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true); // metadata tidak dibaca
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_SOURCE_PIXELS) {
+                    log.warn("Thumbnail {} too large to process ({} pixels)", key, pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // turun bertahap (maks. setengah per langkah) supaya hasil bilinear tidak pecah
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // selalu RGB (JPEG tidak punya alpha), background putih untuk png/gif transparan
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // rendition kecil (puluhan KB): di-encode ke memory lalu dikirim utuh, BlobStore yang menjamin penulisan atomik
+    private void write(BufferedImage image, String key) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(encoded)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                // metadata null: EXIF / ICC / komentar dari file asli tidak ikut
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+        } finally {
+            writer.dispose();
+        }
+        blobStore.put(key, new ByteArrayInputStream(encoded.toByteArray()), encoded.size(), "image/jpeg");
+    }
+
+    private static String renditionKey(String sourcePath, int width) {
+        String fileName = UploadPathResolver.fileName(sourcePath);
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return UploadStorage.THUMBNAILS + "/" + base + "_w" + width + ".jpg";
+    }
+}
@@ -0,0 +1,88 @@
+package com.content.springboot_rest_api.config;
+
+import com.content.springboot_rest_api.entity.BaseEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Id entity dulu pakai IDENTITY (auto_increment), sekarang pooled sequence "entity_id_seq".
+ * Di MySQL sequence di-emulasi dengan tabel yang dibuat Hibernate mulai dari 1,
+ * jadi saat startup nilainya dinaikkan melewati id terbesar yang sudah ada
+ * supaya tidak bentrok dengan data lama. Database dengan sequence native di-RESTART melewati id itu.
+ * Dijalankan sebelum web server menerima request; kalau gagal, aplikasi tidak jadi start.
+ */
+@Component
+@Slf4j
+public class IdSequenceAligner {
+
+    private static final String SEQUENCE_NAME = "entity_id_seq";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        long maxId = 0;
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                if (!BaseEntity.class.isAssignableFrom(entity.getJavaType())) {
+                    continue;
+                }
+                Long max = entityManager
+                        .createQuery("SELECT COALESCE(MAX(e.id), 0) FROM " + entity.getName() + " e", Long.class)
+                        .getSingleResult();
+                maxId = Math.max(maxId, max);
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        // pooled optimizer membagikan id (next_val - allocation + 1 .. next_val)
+        long minimum = maxId + 1 + BaseEntity.ID_ALLOCATION_SIZE;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        // gagal align = id baru bentrok dengan id lama di semua tabel, jadi startup dihentikan
+        try {
+            if (dialect.getSequenceSupport().supportsSequences()) {
+                alignNativeSequence(dialect, minimum, maxId);
+            } else {
+                alignSequenceTable(minimum, maxId);
+            }
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Failed to align " + SEQUENCE_NAME + " past existing id " + maxId, e);
+        }
+    }
+
+    // MySQL: tabel emulasi berisi satu baris next_val
+    private void alignSequenceTable(long minimum, long maxId) {
+        int updated = jdbcTemplate.update(
+                "UPDATE " + SEQUENCE_NAME + " SET next_val = ? WHERE next_val < ?", minimum, minimum);
+        if (updated > 0) {
+            log.info("Aligned {} to {} (max existing id {})", SEQUENCE_NAME, minimum, maxId);
+        }
+    }
+
+    // sequence native (mis. H2 / PostgreSQL): satu nilai dipakai untuk membaca posisinya, celah id tidak masalah
+    private void alignNativeSequence(Dialect dialect, long minimum, long maxId) {
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME), Long.class);
+        if (next != null && next >= minimum) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE_NAME + " RESTART WITH " + minimum);
+        log.info("Restarted {} at {} (max existing id {})", SEQUENCE_NAME, minimum, maxId);
+    }
+}
@@ -45,12 +45,18 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         //  endpoint auth public
                         .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        // upload bertahap: hanya foto profil yang bisa diupload sebelum register (kuota per IP di service),
+                        // /api/uploads/sessions/** (thumbnail) butuh login
+                        .requestMatchers("/api/uploads/photo-sessions", "/api/uploads/photo-sessions/**").permitAll()
 
                         //  Articles public hanya GET
                         .requestMatchers(HttpMethod.GET, "/api/articles").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/articles/{id}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/articles/slug/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/articles/approved-articles").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/articles/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/articles/trending").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/articles/{id}/related").permitAll()
 
                         //  Categories public hanya GET
                         .requestMatchers(HttpMethod.GET, "/api/categories").permitAll()
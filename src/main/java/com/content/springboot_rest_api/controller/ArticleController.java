@@ -1,19 +1,33 @@
 package com.content.springboot_rest_api.controller;
 
+import com.content.springboot_rest_api.cache.PublicResponseCache;
 import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.dto.ArticleImportResultDto;
+import com.content.springboot_rest_api.dto.ArticleSearchHitDto;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
+import com.content.springboot_rest_api.dto.BulkModerationReqDto;
+import com.content.springboot_rest_api.dto.BulkModerationResultDto;
+import com.content.springboot_rest_api.dto.CursorPageDto;
+import com.content.springboot_rest_api.dto.SearchPageDto;
 import com.content.springboot_rest_api.exception.ErrorDetails;
 import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.service.ArticleImportService;
 import com.content.springboot_rest_api.service.ArticleService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +38,8 @@ import java.util.List;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final PublicResponseCache publicResponseCache;
+    private final ArticleImportService articleImportService;
 
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -85,9 +101,12 @@ public class ArticleController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllArticles() {
+    public ResponseEntity<?> getAllArticles(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
         try {
-            List<ArticleDto> articleDto = articleService.getAllArticle();
+            CursorPageDto<ArticleSummaryDto> articleDto = articleService.getAllArticle(after, limit);
             return ResponseEntity.ok(articleDto);
         } catch (GlobalAPIException apiEx) {
             log.error("Error while fetching all articles", apiEx);
@@ -98,9 +117,127 @@ public class ArticleController {
         }
     }
 
+    // full-text search artikel approved
+    @GetMapping("/search")
+    public ResponseEntity<?> searchArticles(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        try {
+            SearchPageDto<ArticleSearchHitDto> result = articleService.searchArticles(query, page, size);
+            return ResponseEntity.ok(result);
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while searching articles with query {}", query, apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while searching articles with query {}", query, e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // artikel trending (views terbaru lebih berbobot), opsional filter slug kategori
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingArticles(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        try {
+            List<ArticleSummaryDto> articles = articleService.getTrendingArticles(category, limit);
+            return ResponseEntity.ok(articles);
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while fetching trending articles", apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while fetching trending articles", e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    // export semua artikel approved sebagai NDJSON, ditulis bertahap (tidak ditampung di memory)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportApprovedArticles() {
+        StreamingResponseBody body = out -> {
+            try {
+                long exported = articleService.exportApprovedArticles(out);
+                log.info("Exported {} approved articles", exported);
+            } catch (Exception e) {
+                // status sudah terkirim, cukup log lalu putus stream
+                log.error("Unexpected error while exporting approved articles", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"approved-articles.ndjson\"")
+                .body(body);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    // import artikel massal (NDJSON / CSV), body dibaca streaming dan di-insert per chunk
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"}
+    )
+    public ResponseEntity<?> importArticles(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        try {
+            ArticleImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                    ? ArticleImportService.Format.CSV
+                    : ArticleImportService.Format.NDJSON;
+            ArticleImportResultDto result = articleImportService.importArticles(body, format);
+            return ResponseEntity.ok(result);
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while importing articles", apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while importing articles", e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    // bangun ulang index pencarian dari database
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        try {
+            int indexed = articleService.rebuildSearchIndex();
+            return ResponseEntity.ok("Search index rebuilt with " + indexed + " articles");
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while rebuilding search index", apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while rebuilding search index", e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // artikel terkait berdasarkan kemiripan tag & kategori
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> getRelatedArticles(@PathVariable("id") Long id) {
+        try {
+            List<ArticleSummaryDto> articles = articleService.getRelatedArticles(id);
+            return ResponseEntity.ok(articles);
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while fetching related articles for id {}", id, apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while fetching related articles for id {}", id, e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getArticleById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getArticleById(@PathVariable("id") Long id, WebRequest webRequest) {
         try {
+            // client masih punya versi terbaru -> 304 tanpa load artikel
+            LocalDateTime lastModified = articleService.getArticleLastModified(id).orElse(null);
+            if (ConditionalGet.notModified(webRequest, "article-" + id, lastModified)) {
+                return null;
+            }
             ArticleDto articleDto = articleService.getArticleById(id);
             return new ResponseEntity<>(articleDto, HttpStatus.OK);
         } catch (GlobalAPIException apiEx) {
@@ -113,8 +250,12 @@ public class ArticleController {
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<?> getArticleBySlug(@PathVariable("slug") String slug) {
+    public ResponseEntity<?> getArticleBySlug(@PathVariable("slug") String slug, WebRequest webRequest) {
         try {
+            LocalDateTime lastModified = articleService.getArticleLastModifiedBySlug(slug).orElse(null);
+            if (ConditionalGet.notModified(webRequest, "article-" + slug, lastModified)) {
+                return null;
+            }
             ArticleDto articleDto = articleService.getArticleBySlug(slug);
             return new ResponseEntity<>(articleDto, HttpStatus.OK);
         } catch (GlobalAPIException apiEx) {
@@ -131,7 +272,7 @@ public class ArticleController {
     @GetMapping("/my-all-articles")
     public ResponseEntity<?> getArticlesByCurrentUser() {
         try {
-            List<ArticleDto> articles = articleService.getArticlesByCurrentUser();
+            List<ArticleSummaryDto> articles = articleService.getArticlesByCurrentUser();
             return ResponseEntity.ok(articles);
         } catch (GlobalAPIException apiEx) {
             log.error("Error while fetching articles by current user", apiEx);
@@ -144,9 +285,19 @@ public class ArticleController {
 
     // GET all approved articles
     @GetMapping("/approved-articles")
-    public ResponseEntity<?> getApprovedArticles() {
+    public ResponseEntity<?> getApprovedArticles(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest
+    ) {
         try {
-            List<ArticleDto> articles = articleService.getApprovedArticles();
+            // halaman pertama (tanpa cursor/limit) dilayani dari cache JSON yang sudah di-serialize
+            if (after == null && limit == null) {
+                PublicResponseCache.CachedResponse cached = publicResponseCache.get(
+                        PublicResponseCache.APPROVED_ARTICLES, () -> articleService.getApprovedArticles(null, null));
+                return PublicResponses.write(webRequest, cached);
+            }
+            CursorPageDto<ArticleSummaryDto> articles = articleService.getApprovedArticles(after, limit);
             return ResponseEntity.ok(articles);
         } catch (GlobalAPIException apiEx) {
             log.error("Error while fetching approved articles", apiEx);
@@ -179,6 +330,22 @@ public class ArticleController {
         }
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    // APPROVE / REJECT banyak artikel sekaligus
+    @PutMapping("/bulk-moderation")
+    public ResponseEntity<?> moderateArticles(@RequestBody @Valid BulkModerationReqDto dto) {
+        try {
+            BulkModerationResultDto result = articleService.moderateArticles(dto);
+            return ResponseEntity.ok(result);
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while moderating articles in bulk", apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while moderating articles in bulk", e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN')")
     // REJECT Article
     @PutMapping("/{id}/reject")
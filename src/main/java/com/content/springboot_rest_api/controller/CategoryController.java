@@ -1,5 +1,6 @@
 package com.content.springboot_rest_api.controller;
 
+import com.content.springboot_rest_api.cache.PublicResponseCache;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
 import com.content.springboot_rest_api.dto.CategoryDto;
 import com.content.springboot_rest_api.dto.CategoryDtoTmp;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,6 +27,7 @@ import java.util.List;
 public class CategoryController {
 
     private CategoryService categoryService;
+    private PublicResponseCache publicResponseCache;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @PostMapping
@@ -56,8 +59,13 @@ public class CategoryController {
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<?> getCategoryById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getCategoryById(@PathVariable("id") Long id, WebRequest webRequest) {
         try {
+            // client masih punya versi terbaru -> 304 tanpa load kategori
+            LocalDateTime lastModified = categoryService.getCategoryLastModified(id).orElse(null);
+            if (ConditionalGet.notModified(webRequest, "category-" + id, lastModified)) {
+                return null;
+            }
             CategoryDto categoryDto = categoryService.getCategory(id);
             return new ResponseEntity<>(categoryDto, HttpStatus.OK);
         } catch (GlobalAPIException apiEx) {
@@ -70,10 +78,12 @@ public class CategoryController {
     }
 
     @GetMapping("/approved")
-    public ResponseEntity<?> getAllApprovedCategories() {
+    public ResponseEntity<?> getAllApprovedCategories(WebRequest webRequest) {
         try {
-            List<CategoryDto> categories = categoryService.getAllApprovedCategories();
-            return ResponseEntity.ok(categories);
+            // JSON sudah di-serialize di cache, langsung ditulis ke response
+            PublicResponseCache.CachedResponse cached = publicResponseCache.get(
+                    PublicResponseCache.APPROVED_CATEGORIES, categoryService::getAllApprovedCategories);
+            return PublicResponses.write(webRequest, cached);
         } catch (GlobalAPIException apiEx) {
             log.error("Error while fetching list categories", apiEx);
             return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
@@ -183,8 +193,12 @@ public class CategoryController {
 
     // Get category by slug
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<?> getCategoryBySlug(@PathVariable("slug") String slug) {
+    public ResponseEntity<?> getCategoryBySlug(@PathVariable("slug") String slug, WebRequest webRequest) {
         try {
+            LocalDateTime lastModified = categoryService.getCategoryLastModifiedBySlug(slug).orElse(null);
+            if (ConditionalGet.notModified(webRequest, "category-" + slug, lastModified)) {
+                return null;
+            }
             CategoryDto category = categoryService.getCategoryBySlug(slug);
             return ResponseEntity.ok(category);
         } catch (GlobalAPIException apiEx) {
@@ -0,0 +1,26 @@
+package com.content.springboot_rest_api.controller;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Helper conditional GET (If-None-Match / If-Modified-Since) untuk endpoint publik.
+ * Kalau hasilnya true, status 304 sudah di-set dan controller cukup return null
+ * tanpa load / serialize body. ETag & Last-Modified selalu ikut di response.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // validator per resource: "<resource>-<epoch millis updatedAt>"
+    static boolean notModified(WebRequest webRequest, String resource, LocalDateTime lastModified) {
+        if (lastModified == null) {
+            return false;
+        }
+        long millis = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return webRequest.checkNotModified("\"" + resource + "-" + millis + "\"", millis);
+    }
+}
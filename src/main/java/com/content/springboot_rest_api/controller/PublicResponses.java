@@ -0,0 +1,84 @@
+package com.content.springboot_rest_api.controller;
+
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+
+/**
+ * Menulis response publik dari PublicResponseCache:
+ * pilih varian gzip / identity dari Accept-Encoding, lalu conditional GET per varian.
+ * Return null kalau client masih punya versi terbaru (status 304 sudah di-set).
+ */
+final class PublicResponses {
+
+    private PublicResponses() {
+    }
+
+    static ResponseEntity<byte[]> write(WebRequest webRequest, PublicResponseCache.CachedResponse cached) {
+        // response berbeda tergantung Accept-Encoding, cache di tengah jalan harus tahu (juga untuk 304)
+        if (webRequest instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+
+        boolean gzip = cached.gzipBody() != null && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? cached.gzipEtag() : cached.etag();
+        if (webRequest.checkNotModified(etag, cached.lastModified())) {
+            return null;
+        }
+
+        byte[] body = gzip ? cached.gzipBody() : cached.body();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    // "gzip" (atau "*" kalau gzip tidak disebut) dengan q > 0, mis. "gzip, br" / "gzip;q=0.8" / "*;q=0.5"
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim();
+            if (coding.equalsIgnoreCase("gzip")) {
+                gzipQuality = quality(tokens);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality(tokens);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            // nama parameter tidak case-sensitive ("Q=0" juga menolak)
+            String param = tokens[i].trim().toLowerCase(Locale.ROOT);
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
@@ -1,7 +1,8 @@
 package com.content.springboot_rest_api.controller;
 
 
-import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
 import com.content.springboot_rest_api.dto.TagDto;
 import com.content.springboot_rest_api.dto.TagDtoTmp;
@@ -15,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +29,7 @@ import java.util.List;
 public class TagsController {
 
     private TagService tagService;
+    private PublicResponseCache publicResponseCache;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @PostMapping
@@ -62,7 +65,7 @@ public class TagsController {
             @PathVariable String slug
     ) {
         try {
-            List<ArticleDto> tags = tagService.getArticlesByTagSlug(slug);
+            List<ArticleSummaryDto> tags = tagService.getArticlesByTagSlug(slug);
             return ResponseEntity.ok(tags);
         } catch (GlobalAPIException apiEx) {
             log.error("Error while fetching all article by tags", apiEx);
@@ -74,8 +77,13 @@ public class TagsController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTagById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getTagById(@PathVariable("id") Long id, WebRequest webRequest) {
         try {
+            // client masih punya versi terbaru -> 304 tanpa load tag
+            LocalDateTime lastModified = tagService.getTagLastModified(id).orElse(null);
+            if (ConditionalGet.notModified(webRequest, "tag-" + id, lastModified)) {
+                return null;
+            }
             TagDto tagDto = tagService.getTagsById(id);
             return new ResponseEntity<>(tagDto, HttpStatus.OK);
         } catch (GlobalAPIException apiEx) {
@@ -161,8 +169,12 @@ public class TagsController {
 
     // Tambahan endpoint untuk ambil tag berdasarkan slug
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<?> getTagBySlug(@PathVariable("slug") String slug) {
+    public ResponseEntity<?> getTagBySlug(@PathVariable("slug") String slug, WebRequest webRequest) {
         try {
+            LocalDateTime lastModified = tagService.getTagLastModifiedBySlug(slug).orElse(null);
+            if (ConditionalGet.notModified(webRequest, "tag-" + slug, lastModified)) {
+                return null;
+            }
             TagDto tagDto = tagService.getTagsBySlug(slug);
             return ResponseEntity.ok(tagDto);
         } catch (GlobalAPIException apiEx) {
@@ -175,10 +187,12 @@ public class TagsController {
     }
 
     @GetMapping("/approved")
-    public ResponseEntity<?> getApprovedTags() {
+    public ResponseEntity<?> getApprovedTags(WebRequest webRequest) {
         try {
-            List<TagDto> tags = tagService.getApprovedTags();
-            return ResponseEntity.ok(tags);
+            // JSON sudah di-serialize di cache, langsung ditulis ke response
+            PublicResponseCache.CachedResponse cached = publicResponseCache.get(
+                    PublicResponseCache.APPROVED_TAGS, tagService::getApprovedTags);
+            return PublicResponses.write(webRequest, cached);
         } catch (GlobalAPIException apiEx) {
             log.error("Error while fetching approved tags", apiEx);
             return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
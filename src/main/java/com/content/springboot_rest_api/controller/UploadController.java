@@ -0,0 +1,249 @@
+package com.content.springboot_rest_api.controller;
+
+import com.content.springboot_rest_api.storage.BlobStore;
+import com.content.springboot_rest_api.storage.UploadStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Serve file upload (/uploads/photos/users/** dan /uploads/photos/thumbnails/**) tanpa resource handler generik.
+ * - backend dengan URL langsung (S3): redirect 302 ke presigned URL, byte gambar tidak lewat server ini
+ * - body dikirim zero-copy: sendfile Tomcat kalau tersedia, selain itu FileChannel.transferTo
+ * - Range satu rentang (bytes=a-b, a-, -n) + If-Range, 206 / 416
+ * - ETag kuat: hash isi untuk file content-addressed, selain itu mtime + size
+ * - file content-addressed (dan rendition-nya) di-cache immutable, file lama 1 jam
+ */
+@Controller
+@Slf4j
+public class UploadController {
+
+    // atribut request connector Tomcat (NIO/NIO2/APR) untuk sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // "<sha256>.<ext>" atau rendition "<sha256>_w<lebar>.jpg"
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})(_w\\d+)?(\\.[a-z0-9]+)?");
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    private static final String SHORT_LIVED = CacheControl.maxAge(Duration.ofHours(1)).cachePublic().getHeaderValue();
+
+    private final BlobStore blobStore;
+    private final Duration presignTtl;
+    private final String redirectCacheControl;
+
+    public UploadController(BlobStore blobStore,
+                            @Value("${app.storage.presign-ttl-seconds:900}") long presignTtlSeconds) {
+        this.blobStore = blobStore;
+        this.presignTtl = Duration.ofSeconds(presignTtlSeconds);
+        // redirect di-cache kurang dari umur URL-nya, supaya client tidak memakai URL yang sudah kedaluwarsa
+        this.redirectCacheControl = CacheControl.maxAge(presignTtl.dividedBy(2)).cachePrivate().getHeaderValue();
+    }
+
+    @RequestMapping(value = "/uploads/photos/{kind}/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable("kind") String kind,
+                      @PathVariable("fileName") String fileName,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        String key = key(kind, fileName);
+        if (key == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Optional<URI> direct = blobStore.presignGet(key, presignTtl);
+        if (direct.isPresent()) {
+            // Range, ETag & conditional request ditangani storage-nya
+            response.setHeader(HttpHeaders.CACHE_CONTROL, redirectCacheControl);
+            response.sendRedirect(direct.get().toString());
+            return;
+        }
+
+        Path file = blobStore.localPath(key);
+        BasicFileAttributes attributes = file == null ? null : readAttributes(file);
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000; // presisi header HTTP = detik
+        var contentAddressed = CONTENT_ADDRESSED.matcher(fileName);
+        boolean immutable = contentAddressed.matches();
+        String etag = immutable && contentAddressed.group(2) == null
+                ? "\"" + contentAddressed.group(1) + "\""
+                : "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : SHORT_LIVED);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        // sendfile: Tomcat menulis file langsung dari page cache ke socket setelah method ini selesai
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    // hanya nama file polos di namespace upload yang dikenal (tidak ada "../" atau sub-folder)
+    private static String key(String kind, String fileName) {
+        if (!SAFE_FILE_NAME.matcher(fileName).matches() || fileName.contains("..")) {
+            return null;
+        }
+        if (!kind.equals(UploadStorage.USER_PHOTOS) && !kind.equals(UploadStorage.THUMBNAILS)) {
+            return null;
+        }
+        return kind + "/" + fileName;
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // If-None-Match menang atas If-Modified-Since (RFC 9110)
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    // If-Range: Range hanya dipakai kalau versi file di client masih sama (ETag kuat atau tanggal)
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        return dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Return {start, end} untuk satu rentang, array kosong kalau header diabaikan (format lain / multi-range,
+     * dikirim utuh 200), atau null kalau rentang di luar ukuran file (416).
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // suffix: n byte terakhir
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size || start > end) {
+                return start >= size ? null : new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
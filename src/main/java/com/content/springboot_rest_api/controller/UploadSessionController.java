@@ -0,0 +1,111 @@
+package com.content.springboot_rest_api.controller;
+
+import com.content.springboot_rest_api.dto.UploadSessionDto;
+import com.content.springboot_rest_api.dto.UploadSessionReqDto;
+import com.content.springboot_rest_api.exception.ErrorDetails;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Upload thumbnail / foto profil secara bertahap (resumable), lalu dipakai lewat upload_id
+ * di data artikel (thumbnail_upload_id) atau register / update user (foto_upload_id).
+ * /api/uploads/sessions butuh login; /api/uploads/photo-sessions terbuka supaya foto bisa diupload
+ * sebelum register, hanya untuk kind user_photo dan dibatasi kuota per IP (dicek di service).
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@AllArgsConstructor
+@Slf4j
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping("/sessions")
+    public ResponseEntity<?> createSession(@RequestBody @Valid UploadSessionReqDto dto, HttpServletRequest request) {
+        try {
+            UploadSessionDto response = uploadSessionService.createSession(dto, request.getRemoteAddr());
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while creating upload session", apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while creating upload session", e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // tanpa login: hanya foto profil
+    @PostMapping("/photo-sessions")
+    public ResponseEntity<?> createPhotoSession(@RequestBody @Valid UploadSessionReqDto dto, HttpServletRequest request) {
+        if (!"user_photo".equalsIgnoreCase(dto.getKind())) {
+            return buildErrorResponse("Only user_photo uploads are allowed here", "Custom business error", HttpStatus.BAD_REQUEST);
+        }
+        return createSession(dto, request);
+    }
+
+    @GetMapping({"/sessions/{id}", "/photo-sessions/{id}"})
+    public ResponseEntity<?> getSession(@PathVariable("id") String id) {
+        try {
+            return ResponseEntity.ok(uploadSessionService.getSession(id));
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while fetching upload session {}", id, apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while fetching upload session {}", id, e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // body = byte mentah potongan, posisinya dari header Content-Range
+    @PutMapping(value = {"/sessions/{id}", "/photo-sessions/{id}"}, consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> appendChunk(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+            InputStream body
+    ) {
+        try {
+            return ResponseEntity.ok(uploadSessionService.appendChunk(id, contentRange, body));
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while uploading chunk for session {}", id, apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while uploading chunk for session {}", id, e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping({"/sessions/{id}/complete", "/photo-sessions/{id}/complete"})
+    public ResponseEntity<?> completeSession(@PathVariable("id") String id) {
+        try {
+            return ResponseEntity.ok(uploadSessionService.completeSession(id));
+        } catch (GlobalAPIException apiEx) {
+            log.error("Error while completing upload session {}", id, apiEx);
+            return buildErrorResponse(apiEx.getMessage(), "Custom business error", apiEx.getStatus());
+        } catch (Exception e) {
+            log.error("Unexpected error while completing upload session {}", id, e);
+            return buildErrorResponse("Unexpected error occurred", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    //  Helper method biar engga copy-paste error response
+    private ResponseEntity<ErrorDetails> buildErrorResponse(String message, String details, HttpStatus status) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                message,
+                details
+        );
+        return ResponseEntity.status(status).body(errorDetails);
+    }
+}
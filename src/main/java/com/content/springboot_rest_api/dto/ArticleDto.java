@@ -9,7 +9,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -32,6 +34,17 @@ public class ArticleDto {
     @JsonProperty("thumbnail_url_approve")
     private String thumbnailUrlApprove;
 
+    // lebar -> path rendition, diisi server setelah thumbnail selesai diproses
+    @JsonProperty(value = "thumbnail_renditions_pending", access = JsonProperty.Access.READ_ONLY)
+    private Map<Integer, String> thumbnailRenditionsPending;
+
+    @JsonProperty(value = "thumbnail_renditions_approve", access = JsonProperty.Access.READ_ONLY)
+    private Map<Integer, String> thumbnailRenditionsApprove;
+
+    // alternatif file thumbnail di multipart: id upload bertahap yang sudah complete
+    @JsonProperty(value = "thumbnail_upload_id", access = JsonProperty.Access.WRITE_ONLY)
+    private String thumbnailUploadId;
+
     @JsonProperty("author_id")
     private Long authorId;
 
@@ -59,4 +72,10 @@ public class ArticleDto {
 
     @JsonProperty("tag_names")
     private List<String> tagNames;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,18 @@
+package com.content.springboot_rest_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleImportErrorDto {
+
+    // nomor baris di file (CSV: baris awal record, termasuk header)
+    private long line;
+
+    private String message;
+}
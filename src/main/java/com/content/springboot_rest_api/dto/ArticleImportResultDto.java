@@ -0,0 +1,22 @@
+package com.content.springboot_rest_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleImportResultDto {
+
+    private long imported;
+
+    private long failed;
+
+    // dibatasi jumlahnya, lihat failed untuk total
+    private List<ArticleImportErrorDto> errors;
+}
@@ -0,0 +1,33 @@
+package com.content.springboot_rest_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Satu baris import (NDJSON: satu object per baris, CSV: kolom dengan nama yang sama)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ArticleImportRowDto {
+
+    private String title;
+
+    // opsional, default dari title
+    private String slug;
+
+    private String content;
+
+    @JsonProperty("category_slug")
+    private String categorySlug;
+
+    // di CSV dipisah dengan "|"
+    @JsonProperty("tag_slugs")
+    private List<String> tagSlugs;
+}
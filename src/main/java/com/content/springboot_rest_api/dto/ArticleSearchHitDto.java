@@ -0,0 +1,43 @@
+package com.content.springboot_rest_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Satu hasil pencarian artikel, urut berdasarkan score relevansi
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSearchHitDto {
+
+    private Long id;
+
+    private String title;
+
+    private String slug;
+
+    private String thumbnail;
+
+    @JsonProperty("author_name")
+    private String authorName;
+
+    @JsonProperty("category_name")
+    private String categoryName;
+
+    @JsonProperty("tag_names")
+    private List<String> tagNames;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    private double score;
+
+    // potongan content dengan term yang cocok dibungkus <em>
+    private String snippet;
+}
@@ -0,0 +1,50 @@
+package com.content.springboot_rest_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import com.content.springboot_rest_api.component.ThumbnailRenditionGenerator;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Versi ringan ArticleDto untuk list/feed (tanpa content)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSummaryDto {
+
+    private Long id;
+
+    private String title;
+
+    private String slug;
+
+    private String thumbnail;
+
+    // lebar -> path rendition thumbnail (kosong kalau belum / tidak bisa diproses)
+    @JsonProperty("thumbnail_renditions")
+    private Map<Integer, String> thumbnailRenditions;
+
+    @JsonProperty("author_name")
+    private String authorName;
+
+    @JsonProperty("category_name")
+    private String categoryName;
+
+    private Long views;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    // dipakai constructor expression JPQL (kolom rendition masih berupa string)
+    public ArticleSummaryDto(Long id, String title, String slug, String thumbnail, String thumbnailRenditions,
+                             String authorName, String categoryName, Long views, LocalDateTime createdAt) {
+        this(id, title, slug, thumbnail, ThumbnailRenditionGenerator.parse(thumbnailRenditions),
+                authorName, categoryName, views, createdAt);
+    }
+}
@@ -0,0 +1,21 @@
+package com.content.springboot_rest_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Hasil moderasi untuk satu id
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationItemDto {
+
+    private Long id;
+
+    // APPROVED, DELETED, REJECTED atau FAILED
+    private String outcome;
+
+    private String message;
+}
@@ -0,0 +1,32 @@
+package com.content.springboot_rest_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationReqDto {
+
+    @NotEmpty(message = "ids cannot be empty")
+    @Size(max = 5000, message = "maximum 5000 ids per request")
+    private List<Long> ids;
+
+    // "A" = approve (sesuai action_code pending tiap artikel), "R" = reject
+    @NotBlank(message = "auth code cannot be empty")
+    @JsonProperty("auth_code")
+    private String authCode;
+
+    // untuk reject: disimpan ke action_code artikel seperti reject satu per satu
+    @JsonProperty("action_code")
+    private String actionCode;
+}
@@ -0,0 +1,21 @@
+package com.content.springboot_rest_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationResultDto {
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BulkModerationItemDto> results;
+}
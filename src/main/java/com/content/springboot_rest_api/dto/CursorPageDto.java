@@ -0,0 +1,22 @@
+package com.content.springboot_rest_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;
+
+    // cursor opaque untuk halaman berikutnya, null kalau sudah halaman terakhir
+    private String next;
+
+    private int limit;
+}
@@ -0,0 +1,26 @@
+package com.content.springboot_rest_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDto<T> {
+
+    private String query;
+
+    private List<T> items;
+
+    private int page;
+
+    private int size;
+
+    // total dokumen yang cocok (bukan hanya di halaman ini)
+    private long total;
+}
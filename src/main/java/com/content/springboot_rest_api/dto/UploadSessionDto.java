@@ -0,0 +1,37 @@
+package com.content.springboot_rest_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+
+    @JsonProperty("upload_id")
+    private String uploadId;
+
+    private String kind;
+
+    private String status;
+
+    @JsonProperty("file_name")
+    private String fileName;
+
+    private Long size;
+
+    // byte berikutnya yang diharapkan server (lanjutkan upload dari sini)
+    private Long offset;
+
+    // path publik, terisi setelah finalize
+    private String path;
+
+    @JsonProperty("expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,33 @@
+package com.content.springboot_rest_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionReqDto {
+
+    // "thumbnail" atau "user_photo"
+    @NotBlank(message = "Kind cannot be empty")
+    private String kind;
+
+    @JsonProperty("file_name")
+    @NotBlank(message = "File name cannot be empty")
+    private String fileName;
+
+    @JsonProperty("content_type")
+    @NotBlank(message = "Content type cannot be empty")
+    private String contentType;
+
+    @NotNull(message = "Size cannot be empty")
+    @Min(value = 1, message = "Size must be greater than 0")
+    private Long size;
+}
@@ -56,4 +56,8 @@ public class UserRegisterDto {
     @NotBlank(message = "Gender cannot be empty")
     private String gender;
 
+    // alternatif file foto di multipart: id upload bertahap yang sudah complete
+    @JsonProperty(value = "foto_upload_id", access = JsonProperty.Access.WRITE_ONLY)
+    private String fotoUploadId;
+
 }
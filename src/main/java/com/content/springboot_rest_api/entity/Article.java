@@ -7,12 +7,25 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "articles")
+@NamedEntityGraph(
+        name = "Article.detail",
+        attributeNodes = {
+                @NamedAttributeNode(value = "author", subgraph = "author"),
+                @NamedAttributeNode("category"),
+                @NamedAttributeNode("tags")
+        },
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("roles"))
+)
+@Table(name = "articles", indexes = {
+        @Index(name = "idx_articles_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_articles_auth_code_created_at_id", columnList = "auth_code, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +48,13 @@ public class Article extends BaseEntity{
     @Column(length = 500)
     private String thumbnailUrlApprove;
 
+    // rendition per lebar, diisi ThumbnailRenditionGenerator: "320=/uploads/...,640=/uploads/..."
+    @Column(length = 2000)
+    private String thumbnailRenditionsPending;
+
+    @Column(length = 2000)
+    private String thumbnailRenditionsApprove;
+
     @Column(name = "auth_code", nullable = false, length = 20)
     private String authCode;
 
@@ -49,7 +69,8 @@ public class Article extends BaseEntity{
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @Column(nullable = false)
+    // views hanya diubah lewat ArticleViewCounter (UPDATE views = views + ?)
+    @Column(nullable = false, updatable = false)
     private Long views = 0L;
 
     @ManyToMany(fetch = FetchType.LAZY)
@@ -59,5 +80,6 @@ public class Article extends BaseEntity{
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
     @JsonIgnore
+    @BatchSize(size = 50) // fallback kalau tags di-load lazy untuk banyak artikel sekaligus
     private Set<Tag> tags = new HashSet<>();
 }
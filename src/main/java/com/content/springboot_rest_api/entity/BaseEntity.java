@@ -13,8 +13,13 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 public abstract class BaseEntity {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // pooled sequence (bukan IDENTITY) supaya insert bisa di-batch JDBC;
+    // di MySQL di-emulasi lewat tabel entity_id_seq, lihat IdSequenceAligner
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_id_seq")
+    @SequenceGenerator(name = "entity_id_seq", sequenceName = "entity_id_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "created_at", updatable = false)
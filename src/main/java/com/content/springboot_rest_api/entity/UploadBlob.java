@@ -0,0 +1,42 @@
+package com.content.springboot_rest_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * File upload yang disimpan berdasarkan hash isinya (path = "/uploads/.../<sha256>.<ext>").
+ * refCount = jumlah artikel / user yang memakai file ini; file dihapus saat turun ke 0.
+ * deletingUntil = klaim penghapusan file yang sedang berjalan (lihat UploadStorage), null kalau tidak ada.
+ */
+@Entity
+@Table(name = "upload_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadBlob {
+
+    @Id
+    @Column(length = 500)
+    private String path;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "deleting_until")
+    private LocalDateTime deletingUntil;
+}
@@ -0,0 +1,74 @@
+package com.content.springboot_rest_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sesi upload bertahap (resumable): client mengirim file per potongan, lalu finalize.
+ * Selama OPEN isi file ada di "<session-dir>/<id>.part" dan receivedBytes = offset berikutnya.
+ * Setelah FINALIZED file sudah tersimpan di UploadStorage (path) dan satu referensinya dipegang sesi ini
+ * sampai dipakai artikel / user (baris sesi dihapus) atau kedaluwarsa (referensi dilepas).
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_upload_sessions_client_ip", columnList = "client_ip")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    public enum Kind { THUMBNAIL, USER_PHOTO }
+
+    public enum Status { OPEN, FINALIZED }
+
+    // UUID acak, sekaligus jadi "kunci" sesi untuk upload anonim (foto saat register)
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // username pembuat sesi, null kalau dibuat sebelum login (register)
+    @Column(length = 100)
+    private String owner;
+
+    // IP pembuat sesi anonim, untuk kuota upload sebelum login; null kalau owner terisi
+    @Column(name = "client_ip", length = 45)
+    private String clientIp;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    // path publik setelah finalize
+    @Column(length = 500)
+    private String path;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,92 @@
+package com.content.springboot_rest_api.mapper;
+
+import com.content.springboot_rest_api.component.ThumbnailRenditionGenerator;
+import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Tag;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mapper Article <-> ArticleDto, ditulis eksplisit (tanpa reflection)
+ * karena dipakai di hot path endpoint artikel.
+ */
+@Component
+public class ArticleMapper {
+
+    public ArticleDto toDto(Article article) {
+        if (article.getTags() == null || article.getTags().isEmpty()) {
+            return toDto(article, Collections.emptyList(), Collections.emptyList());
+        }
+        List<Tag> tags = List.copyOf(article.getTags());
+        return toDto(article,
+                tags.stream().map(Tag::getId).toList(),
+                tags.stream().map(Tag::getName).toList());
+    }
+
+    // tags sudah di-load terpisah (mis. export per batch), collection entity tidak disentuh
+    public ArticleDto toDto(Article article, List<Long> tagIds, List<String> tagNames) {
+        ArticleDto dto = new ArticleDto();
+        dto.setId(article.getId());
+        dto.setTitle(article.getTitle());
+        dto.setSlug(article.getSlug());
+        dto.setContent(article.getContent());
+        dto.setThumbnailUrlPending(article.getThumbnailUrlPending());
+        dto.setThumbnailUrlApprove(article.getThumbnailUrlApprove());
+        dto.setThumbnailRenditionsPending(ThumbnailRenditionGenerator.parse(article.getThumbnailRenditionsPending()));
+        dto.setThumbnailRenditionsApprove(ThumbnailRenditionGenerator.parse(article.getThumbnailRenditionsApprove()));
+        dto.setAuthCode(article.getAuthCode());
+        dto.setActionCode(article.getActionCode());
+        dto.setViews(article.getViews());
+        dto.setCreatedAt(article.getCreatedAt());
+        dto.setUpdatedAt(article.getUpdatedAt());
+
+        if (article.getAuthor() != null) {
+            dto.setAuthorId(article.getAuthor().getId());
+            dto.setAuthorName(article.getAuthor().getFullName());
+        }
+        if (article.getCategory() != null) {
+            dto.setCategoryId(article.getCategory().getId());
+            dto.setCategoryName(article.getCategory().getName());
+        }
+
+        dto.setTagIds(tagIds);
+        dto.setTagNames(tagNames);
+        return dto;
+    }
+
+    public ArticleDto copyOf(ArticleDto source) {
+        return new ArticleDto(
+                source.getId(),
+                source.getTitle(),
+                source.getSlug(),
+                source.getContent(),
+                source.getThumbnailUrlPending(),
+                source.getThumbnailUrlApprove(),
+                source.getThumbnailRenditionsPending(),
+                source.getThumbnailRenditionsApprove(),
+                source.getThumbnailUploadId(),
+                source.getAuthorId(),
+                source.getAuthorName(),
+                source.getCategoryId(),
+                source.getCategoryName(),
+                source.getAuthCode(),
+                source.getActionCode(),
+                source.getViews(),
+                source.getTagIds(),
+                source.getTagNames(),
+                source.getCreatedAt(),
+                source.getUpdatedAt()
+        );
+    }
+
+    // hanya field yang boleh diisi client; slug, status, author, category & tags di-set oleh service
+    public Article toEntity(ArticleDto dto) {
+        Article article = new Article();
+        article.setTitle(dto.getTitle());
+        article.setContent(dto.getContent());
+        return article;
+    }
+}
@@ -0,0 +1,59 @@
+package com.content.springboot_rest_api.mapper;
+
+import com.content.springboot_rest_api.dto.CategoryDto;
+import com.content.springboot_rest_api.dto.CategoryDtoTmp;
+import com.content.springboot_rest_api.entity.Category;
+import com.content.springboot_rest_api.entity.CategoryTmp;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryMapper {
+
+    // auth_code / action_code kosong karena data main table sudah final
+    public CategoryDto toDto(Category category) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setSlug(category.getSlug());
+        dto.setCreatedBy(category.getCreatedBy());
+        dto.setUpdatedBy(category.getUpdatedBy());
+        dto.setCreatedAt(category.getCreatedAt());
+        dto.setUpdatedAt(category.getUpdatedAt());
+        return dto;
+    }
+
+    public CategoryDtoTmp toTmpDto(CategoryTmp tmp) {
+        CategoryDtoTmp dto = new CategoryDtoTmp();
+        dto.setIdTmp(tmp.getIdTmp());
+        dto.setIdCategory(tmp.getIdCategory());
+        dto.setName(tmp.getName());
+        dto.setSlug(tmp.getSlug());
+        dto.setAuthCode(tmp.getAuthCode());
+        dto.setActionCode(tmp.getActionCode());
+        dto.setCreatedBy(tmp.getCreatedBy());
+        dto.setUpdatedBy(tmp.getUpdatedBy());
+        dto.setCreatedAt(tmp.getCreatedAt());
+        dto.setUpdatedAt(tmp.getUpdatedAt());
+        return dto;
+    }
+
+    // request add/edit dari client: hanya name, sisanya (slug, status, audit) di-set service
+    public CategoryTmp toTmpEntity(CategoryDtoTmp dto) {
+        CategoryTmp tmp = new CategoryTmp();
+        tmp.setName(dto.getName());
+        return tmp;
+    }
+
+    // snapshot category main ke tmp (dipakai untuk request delete)
+    public CategoryTmp toTmpEntity(Category category) {
+        CategoryTmp tmp = new CategoryTmp();
+        tmp.setIdCategory(category.getId());
+        tmp.setName(category.getName());
+        tmp.setSlug(category.getSlug());
+        tmp.setCreatedBy(category.getCreatedBy());
+        tmp.setUpdatedBy(category.getUpdatedBy());
+        tmp.setCreatedAt(category.getCreatedAt());
+        tmp.setUpdatedAt(category.getUpdatedAt());
+        return tmp;
+    }
+}
@@ -0,0 +1,24 @@
+package com.content.springboot_rest_api.mapper;
+
+import com.content.springboot_rest_api.dto.CommentDto;
+import com.content.springboot_rest_api.entity.Comment;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CommentMapper {
+
+    public CommentDto toDto(Comment comment) {
+        CommentDto dto = new CommentDto();
+        dto.setId(comment.getId());
+        dto.setArticleId(comment.getArticle() != null ? comment.getArticle().getId() : null);
+        dto.setUserId(comment.getUser() != null ? comment.getUser().getId() : null);
+        dto.setName(comment.getName());
+        dto.setEmail(comment.getEmail());
+        dto.setContent(comment.getContent());
+        dto.setCreatedAt(comment.getCreatedAt());
+        dto.setUpdatedAt(comment.getUpdatedAt());
+        dto.setCreatedBy(comment.getCreatedBy());
+        dto.setUpdatedBy(comment.getUpdatedBy());
+        return dto;
+    }
+}
@@ -0,0 +1,38 @@
+package com.content.springboot_rest_api.mapper;
+
+import com.content.springboot_rest_api.dto.TagDto;
+import com.content.springboot_rest_api.dto.TagDtoTmp;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.entity.TagTmp;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TagMapper {
+
+    public TagDto toDto(Tag tag) {
+        TagDto dto = new TagDto();
+        dto.setId(tag.getId());
+        dto.setName(tag.getName());
+        dto.setSlug(tag.getSlug());
+        dto.setCreatedBy(tag.getCreatedBy());
+        dto.setUpdatedBy(tag.getUpdatedBy());
+        dto.setCreatedAt(tag.getCreatedAt());
+        dto.setUpdatedAt(tag.getUpdatedAt());
+        return dto;
+    }
+
+    public TagDtoTmp toTmpDto(TagTmp tmp) {
+        TagDtoTmp dto = new TagDtoTmp();
+        dto.setIdTmp(tmp.getIdTmp());
+        dto.setIdTag(tmp.getIdTag());
+        dto.setName(tmp.getName());
+        dto.setSlug(tmp.getSlug());
+        dto.setAuthCode(tmp.getAuthCode());
+        dto.setActionCode(tmp.getActionCode());
+        dto.setCreatedBy(tmp.getCreatedBy());
+        dto.setUpdatedBy(tmp.getUpdatedBy());
+        dto.setCreatedAt(tmp.getCreatedAt());
+        dto.setUpdatedAt(tmp.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,47 @@
+package com.content.springboot_rest_api.mapper;
+
+import com.content.springboot_rest_api.dto.UserRegisterDto;
+import com.content.springboot_rest_api.dto.UserResponseDto;
+import com.content.springboot_rest_api.entity.Role;
+import com.content.springboot_rest_api.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class UserMapper {
+
+    public UserResponseDto toResponse(User user) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setId(user.getId());
+        dto.setFullName(user.getFullName());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setPhone(user.getPhone());
+        dto.setBirthDate(user.getBirthDate());
+        dto.setJobTitle(user.getJobTitle());
+        dto.setLocation(user.getLocation());
+        dto.setGender(user.getGender());
+        dto.setFoto(user.getFoto());
+        dto.setRoles(user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+        return dto;
+    }
+
+    public User toEntity(UserRegisterDto dto) {
+        User user = new User();
+        updateEntity(dto, user);
+        return user;
+    }
+
+    // password & foto sengaja tidak disalin, di-handle service (encode / simpan file)
+    public void updateEntity(UserRegisterDto dto, User user) {
+        user.setFullName(dto.getFullName());
+        user.setUsername(dto.getUsername());
+        user.setEmail(dto.getEmail());
+        user.setPhone(dto.getPhone());
+        user.setBirthDate(dto.getBirthDate());
+        user.setJobTitle(dto.getJobTitle());
+        user.setLocation(dto.getLocation());
+        user.setGender(dto.getGender());
+    }
+}
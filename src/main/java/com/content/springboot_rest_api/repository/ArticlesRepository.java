@@ -1,23 +1,225 @@
 package com.content.springboot_rest_api.repository;
 
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.entity.Article;
 import com.content.springboot_rest_api.entity.Category;
 import com.content.springboot_rest_api.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ArticlesRepository extends JpaRepository<Article, Long> {
     // Cari artikel berdasarkan Category
     List<Article> findByCategory(Category category);
 
+    // Detail artikel: author (+roles), category dan tags di-fetch dalam satu query
+    @EntityGraph("Article.detail")
     Optional<Article> findBySlug(String slug);
 
-    List<Article> findByAuthCodeAndCreatedAtBefore(String authCode, LocalDateTime dateTime);
+    @EntityGraph("Article.detail")
+    Optional<Article> findWithDetailsById(Long id);
+
+    // import: slug mana saja yang sudah dipakai, satu query per chunk
+    @Query("SELECT a.slug FROM Article a WHERE a.slug IN :slugs")
+    List<String> findExistingSlugs(Collection<String> slugs);
+
+    // rebuild index pencarian: artikel per batch urut id, tags di-load lewat @BatchSize
+    @EntityGraph(attributePaths = {"author", "category"})
+    List<Article> findByAuthCodeAndIdGreaterThanOrderByIdAsc(String authCode, Long id, Limit limit);
+
+    // export: dibaca bertahap pakai cursor (fetch size), author & category ikut di-join
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Article a JOIN FETCH a.author JOIN FETCH a.category WHERE a.authCode = :authCode ORDER BY a.id")
+    Stream<Article> streamByAuthCode(String authCode);
+
+    // GC upload: path thumbnail & rendition yang masih dipakai, tanpa load entity
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT a.thumbnailUrlPending, a.thumbnailUrlApprove, a.thumbnailRenditionsPending, a.thumbnailRenditionsApprove
+            FROM Article a
+            WHERE a.thumbnailUrlPending IS NOT NULL OR a.thumbnailUrlApprove IS NOT NULL
+            """)
+    Stream<Object[]> streamThumbnailPaths();
+
+    // pasangan (article id, tag id, tag name) untuk satu batch artikel
+    @Query("SELECT a.id, t.id, t.name FROM Article a JOIN a.tags t WHERE a.id IN :articleIds")
+    List<Object[]> findTagRowsByArticleIds(Collection<Long> articleIds);
+
+    // rebuild index related articles: hanya pasangan id, tanpa load entity
+    @Query("SELECT a.id, a.category.id FROM Article a WHERE a.authCode = :authCode")
+    List<Object[]> findCategoryRowsByAuthCode(String authCode);
+
+    @Query("SELECT a.id, t.id FROM Article a JOIN a.tags t WHERE a.authCode = :authCode")
+    List<Object[]> findTagRowsByAuthCode(String authCode);
+
+    // moderasi massal: kolom yang dibutuhkan saja (tanpa content)
+    interface ModerationRow {
+        Long getId();
+
+        String getSlug();
+
+        String getAuthCode();
+
+        String getActionCode();
+
+        String getThumbnailUrlPending();
+
+        String getThumbnailUrlApprove();
+    }
+
+    @Query("""
+            SELECT a.id AS id, a.slug AS slug, a.authCode AS authCode, a.actionCode AS actionCode,
+                   a.thumbnailUrlPending AS thumbnailUrlPending, a.thumbnailUrlApprove AS thumbnailUrlApprove
+            FROM Article a
+            WHERE a.id IN :ids
+            """)
+    List<ModerationRow> findModerationRowsByIdIn(Collection<Long> ids);
+
+    // snippet hasil pencarian: content hanya untuk artikel di halaman hasil
+    interface ContentRow {
+        Long getId();
+
+        String getContent();
+    }
+
+    @Query("SELECT a.id AS id, a.content AS content FROM Article a WHERE a.id IN :ids")
+    List<ContentRow> findContentRowsByIdIn(Collection<Long> ids);
+
+    // set-based approve: thumbnail pending (kalau ada) jadi thumbnail approve
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Article a
+            SET a.authCode = 'A',
+                a.thumbnailUrlApprove = COALESCE(a.thumbnailUrlPending, a.thumbnailUrlApprove),
+                a.thumbnailRenditionsApprove = CASE WHEN a.thumbnailUrlPending IS NOT NULL
+                                                    THEN a.thumbnailRenditionsPending
+                                                    ELSE a.thumbnailRenditionsApprove END,
+                a.thumbnailUrlPending = NULL,
+                a.thumbnailRenditionsPending = NULL,
+                a.updatedBy = :updatedBy,
+                a.updatedAt = :updatedAt
+            WHERE a.id IN :ids AND a.authCode = 'P'
+            """)
+    int approvePending(Collection<Long> ids, String updatedBy, LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Article a
+            SET a.authCode = 'R',
+                a.actionCode = :actionCode,
+                a.thumbnailUrlPending = NULL,
+                a.thumbnailRenditionsPending = NULL,
+                a.updatedBy = :updatedBy,
+                a.updatedAt = :updatedAt
+            WHERE a.id IN :ids AND a.authCode = 'P'
+            """)
+    int rejectPending(Collection<Long> ids, String actionCode, String updatedBy, LocalDateTime updatedAt);
+
+    // relasi many-to-many tidak ikut terhapus oleh bulk delete, jadi dihapus dulu
+    @Modifying
+    @Query(value = "DELETE FROM article_tags WHERE article_id IN :articleIds", nativeQuery = true)
+    int deleteTagLinksByArticleIds(Collection<Long> articleIds);
+
+    @EntityGraph(attributePaths = {"author", "category", "tags"})
+    List<Article> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    // hasil job rendition: hanya dicatat kalau thumbnail-nya belum diganti
+    @Modifying
+    @Query("UPDATE Article a SET a.thumbnailRenditionsPending = :renditions WHERE a.id = :id AND a.thumbnailUrlPending = :source")
+    int updatePendingRenditions(Long id, String source, String renditions);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.thumbnailRenditionsApprove = :renditions WHERE a.id = :id AND a.thumbnailUrlApprove = :source")
+    int updateApprovedRenditions(Long id, String source, String renditions);
+
+    @Query("SELECT a.slug FROM Article a WHERE a.id = :id")
+    Optional<String> findSlugById(Long id);
+
+    // validator conditional GET, tanpa load entity
+    @Query("SELECT COALESCE(a.updatedAt, a.createdAt) FROM Article a WHERE a.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(Long id);
+
+    // cleanup artikel rejected: per halaman urut id, tanpa kolom content
+    @Query("""
+            SELECT a.id AS id, a.slug AS slug, a.authCode AS authCode, a.actionCode AS actionCode,
+                   a.thumbnailUrlPending AS thumbnailUrlPending, a.thumbnailUrlApprove AS thumbnailUrlApprove
+            FROM Article a
+            WHERE a.authCode = :authCode AND a.createdAt < :dateTime AND a.id > :afterId
+            ORDER BY a.id
+            """)
+    List<ModerationRow> findPageByAuthCodeAndCreatedAtBefore(String authCode, LocalDateTime dateTime, Long afterId, Limit limit);
+
+    @Query("SELECT a.id FROM Article a WHERE a.id IN :ids AND a.authCode = :authCode")
+    List<Long> findIdsByIdInAndAuthCode(Collection<Long> ids, String authCode);
 
     // Tambahan
     List<Article> findByAuthor(User author);
     List<Article> findByAuthCode(String authCode);
+
+    // Projection ringan untuk list: tanpa kolom content, author & category di-join sekali
+    String SUMMARY_SELECT = """
+            SELECT new com.content.springboot_rest_api.dto.ArticleSummaryDto(
+                a.id, a.title, a.slug, COALESCE(a.thumbnailUrlApprove, a.thumbnailUrlPending),
+                CASE WHEN a.thumbnailUrlApprove IS NOT NULL THEN a.thumbnailRenditionsApprove
+                     ELSE a.thumbnailRenditionsPending END,
+                au.fullName, c.name, a.views, a.createdAt)
+            FROM Article a
+            JOIN a.author au
+            JOIN a.category c
+            """;
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findSummariesByCategoryId(Long categoryId);
+
+    @Query(SUMMARY_SELECT + "JOIN a.tags t WHERE t.id = :tagId ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findSummariesByTagId(Long tagId);
+
+    @Query(SUMMARY_SELECT + "WHERE au.username = :username ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findSummariesByAuthorUsername(String username);
+
+    // urutan hasil tidak dijamin, caller yang mengurutkan sesuai ids
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids AND a.authCode = :authCode")
+    List<ArticleSummaryDto> findSummariesByIdInAndAuthCode(Collection<Long> ids, String authCode);
+
+    // Keyset pagination: urut (created_at, id) terbaru dulu, halaman berikutnya lanjut dari cursor
+    @Query(SUMMARY_SELECT + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findFirstPage(Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE a.createdAt < :createdAt
+               OR (a.createdAt = :createdAt AND a.id < :id)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<ArticleSummaryDto> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE a.authCode = :authCode
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<ArticleSummaryDto> findFirstPageByAuthCode(String authCode, Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE a.authCode = :authCode
+              AND (a.createdAt < :createdAt
+               OR (a.createdAt = :createdAt AND a.id < :id))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<ArticleSummaryDto> findPageAfterByAuthCode(String authCode, LocalDateTime createdAt, Long id, Limit limit);
 }
@@ -2,6 +2,7 @@ package com.content.springboot_rest_api.repository;
 
 import com.content.springboot_rest_api.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,6 +13,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findBySlug(String slug);
 
+    // validator conditional GET, tanpa load entity
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) FROM Category c WHERE c.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(Long id);
+
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) FROM Category c WHERE c.slug = :slug")
+    Optional<LocalDateTime> findLastModifiedBySlug(String slug);
+
     List<Category> findByCreatedBy(String createdBy);
 
     // Tambahan: untuk order by createdAt desc
@@ -2,9 +2,17 @@ package com.content.springboot_rest_api.repository;
 
 import com.content.springboot_rest_api.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByArticleId(Long articleId);
+
+    // bulk delete saat artikel dihapus massal (satu statement)
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.article.id IN :articleIds")
+    int deleteAllByArticleIds(Collection<Long> articleIds);
 }
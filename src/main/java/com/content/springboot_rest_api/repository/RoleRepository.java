@@ -1,11 +1,16 @@
 package com.content.springboot_rest_api.repository;
 
 import com.content.springboot_rest_api.entity.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     Optional<Role> findByName(String name);
+
+    @EntityGraph(attributePaths = "users")
+    List<Role> findAllWithUsersBy();
 }
@@ -2,7 +2,9 @@ package com.content.springboot_rest_api.repository;
 
 import com.content.springboot_rest_api.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +14,13 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     Optional<Tag> findBySlug(String slug);
 
+    // validator conditional GET, tanpa load entity
+    @Query("SELECT COALESCE(t.updatedAt, t.createdAt) FROM Tag t WHERE t.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(Long id);
+
+    @Query("SELECT COALESCE(t.updatedAt, t.createdAt) FROM Tag t WHERE t.slug = :slug")
+    Optional<LocalDateTime> findLastModifiedBySlug(String slug);
+
     List<Tag> findByCreatedBy(String createdBy);
 
     List<Tag> findAllByOrderByCreatedAtDesc();
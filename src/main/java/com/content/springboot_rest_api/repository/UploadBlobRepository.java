@@ -0,0 +1,51 @@
+package com.content.springboot_rest_api.repository;
+
+import com.content.springboot_rest_api.entity.UploadBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadBlobRepository extends JpaRepository<UploadBlob, String> {
+
+    // tambah referensi; baris baru kalau blob belum tercatat (atomic, aman untuk upload paralel).
+    // hash & ukuran ikut ditulis: baris bisa berupa pemegang klaim hapus yang belum tahu isinya
+    @Modifying
+    @Query(value = """
+            INSERT INTO upload_blobs (path, sha256, size_bytes, ref_count, created_at)
+            VALUES (:path, :sha256, :sizeBytes, 1, NOW())
+            ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, sha256 = VALUES(sha256), size_bytes = VALUES(size_bytes)
+            """, nativeQuery = true)
+    int acquire(String path, String sha256, long sizeBytes);
+
+    @Modifying
+    @Query("UPDATE UploadBlob b SET b.refCount = b.refCount - 1 WHERE b.path = :path AND b.refCount > 0")
+    int release(String path);
+
+    // GC upload: dari satu batch kandidat, path mana yang masih punya referensi
+    @Query("SELECT b.path FROM UploadBlob b WHERE b.path IN :paths AND b.refCount > 0")
+    List<String> findReferencedPaths(Collection<String> paths);
+
+    // dipakai sebelum hapus file: menunggu upload yang sedang menambah referensi ke path yang sama
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM UploadBlob b WHERE b.path = :path")
+    Optional<UploadBlob> findForUpdate(String path);
+
+    @Query("SELECT b.deletingUntil FROM UploadBlob b WHERE b.path = :path")
+    Optional<LocalDateTime> findDeletingUntil(String path);
+
+    // akhir klaim hapus: baris ikut dihapus kalau tetap tidak direferensikan
+    @Modifying
+    @Query("DELETE FROM UploadBlob b WHERE b.path = :path AND b.refCount = 0 AND b.deletingUntil = :claim")
+    int deleteClaimed(String path, LocalDateTime claim);
+
+    @Modifying
+    @Query("UPDATE UploadBlob b SET b.deletingUntil = NULL WHERE b.path = :path AND b.deletingUntil = :claim")
+    int clearClaim(String path, LocalDateTime claim);
+}
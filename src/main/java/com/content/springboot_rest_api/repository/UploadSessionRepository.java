@@ -0,0 +1,45 @@
+package com.content.springboot_rest_api.repository;
+
+import com.content.springboot_rest_api.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // offset baru setelah satu potongan ditulis; hanya selama sesi masih OPEN
+    @Modifying
+    @Query("""
+            UPDATE UploadSession s SET s.receivedBytes = :receivedBytes
+            WHERE s.id = :id AND s.status = com.content.springboot_rest_api.entity.UploadSession.Status.OPEN
+            """)
+    int updateReceivedBytes(String id, long receivedBytes);
+
+    // dipakai saat finalize / saat sesi dipakai artikel / user, supaya satu sesi tidak dipakai dua kali
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findForUpdate(String id);
+
+    // kuota upload anonim: sesi yang belum dipakai & belum kedaluwarsa dari satu IP
+    interface ClientUsage {
+        Long getSessions();
+
+        Long getBytes();
+    }
+
+    @Query("""
+            SELECT COUNT(s) AS sessions, COALESCE(SUM(s.totalSize), 0) AS bytes FROM UploadSession s
+            WHERE s.owner IS NULL AND s.clientIp = :clientIp AND s.expiresAt > :now
+            """)
+    ClientUsage findAnonymousUsage(String clientIp, LocalDateTime now);
+
+    // cleanup sesi kedaluwarsa per batch
+    List<UploadSession> findByExpiresAtBeforeOrderByExpiresAtAsc(LocalDateTime dateTime, Limit limit);
+}
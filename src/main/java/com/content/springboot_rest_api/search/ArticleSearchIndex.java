@@ -0,0 +1,390 @@
+package com.content.springboot_rest_api.search;
+
+import com.content.springboot_rest_api.dto.ArticleSearchHitDto;
+import com.content.springboot_rest_api.dto.SearchPageDto;
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.search.highlight.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Index full-text Lucene untuk artikel approved (title, content, tag & kategori).
+ * - satu IndexWriter di app.search.index-dir (kosong = in-memory), ranking BM25 bawaan Lucene dengan boost per field
+ * - update incremental setelah commit dari approve / reject / update / delete artikel,
+ *   SearcherManager di-refresh langsung jadi perubahan terlihat di pencarian berikutnya (near-real-time)
+ * - yang disimpan di index hanya id & field pendek untuk hasil; content hanya di-index (tidak disimpan),
+ *   snippet dibuat dari content artikel di halaman hasil saja (diambil dari DB) dengan highlighter Lucene
+ * - bisa dibangun ulang penuh dari ArticlesRepository (saat startup & endpoint admin)
+ */
+@Component
+@Slf4j
+public class ArticleSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String SLUG = "slug";
+    private static final String THUMBNAIL = "thumbnail";
+    private static final String AUTHOR_NAME = "author_name";
+    private static final String CATEGORY = "category";
+    private static final String TAGS = "tags";
+    private static final String CONTENT = "content";
+    private static final String CREATED_AT = "created_at";
+    private static final String CREATED_AT_SORT = "created_at_sort";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            TITLE, 3.0f,
+            TAGS, 2.0f,
+            CATEGORY, 1.5f,
+            CONTENT, 1.0f);
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+    private static final int SNIPPET_LENGTH = 200;
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    // skor relevansi dulu, lalu artikel terbaru
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE,
+            new SortField(CREATED_AT_SORT, SortField.Type.LONG, true));
+
+    private final ArticlesRepository articlesRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final TaskExecutor taskExecutor;
+    private final boolean rebuildOnStartup;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // selama rebuild, perubahan incremental dicatat lalu di-replay setelah semua batch ditulis; dijaga oleh this
+    private List<IndexChange> changesDuringRebuild;
+
+    public ArticleSearchIndex(ArticlesRepository articlesRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                              @Value("${app.search.index-dir:}") String indexDir,
+                              @Value("${app.search.rebuild-on-startup:true}") boolean rebuildOnStartup) throws IOException {
+        this.articlesRepository = articlesRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.rebuildOnStartup = rebuildOnStartup;
+
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        // jangan tahan startup, index terisi di background (executor Spring, ikut dihentikan saat shutdown)
+        taskExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Initial search index build failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // dipanggil di dalam transaksi service: dokumen dibuat sekarang (lazy tags masih bisa di-load),
+    // index baru berubah setelah commit
+    public void indexAfterCommit(Article article) {
+        Document doc = toDocument(article);
+        String id = doc.get(ID);
+        afterCommit(w -> w.updateDocument(new Term(ID, id), doc));
+    }
+
+    public void removeAfterCommit(Long articleId) {
+        Term id = new Term(ID, String.valueOf(articleId));
+        afterCommit(w -> w.deleteDocuments(id));
+    }
+
+    /**
+     * Bangun ulang index dari semua artikel approved, per batch (urut id).
+     * Pencarian tetap dilayani reader lama sampai index baru selesai di-commit lalu di-refresh.
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new GlobalAPIException(HttpStatus.CONFLICT, "Search index rebuild is already running");
+        }
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            writer.deleteAll();
+            int count = 0;
+            long lastId = 0L;
+            while (true) {
+                long after = lastId;
+                List<Document> batch = readOnlyTx.execute(status ->
+                        articlesRepository.findByAuthCodeAndIdGreaterThanOrderByIdAsc("A", after, Limit.of(REBUILD_BATCH_SIZE))
+                                .stream()
+                                .map(ArticleSearchIndex::toDocument)
+                                .toList());
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                writer.addDocuments(batch);
+                count += batch.size();
+                lastId = Long.parseLong(batch.get(batch.size() - 1).get(ID));
+            }
+
+            synchronized (this) {
+                // update/delete idempotent: snapshot batch yang lebih lama ditimpa perubahan terbaru
+                for (IndexChange change : changesDuringRebuild) {
+                    change.apply(writer);
+                }
+                changesDuringRebuild = null;
+                writer.commit();
+                searcherManager.maybeRefreshBlocking();
+            }
+            log.info("Search index rebuilt with {} articles", count);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index rebuild failed", e);
+        } finally {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    public SearchPageDto<ArticleSearchHitDto> search(String query, int page, int size) {
+        Query luceneQuery = buildQuery(query);
+        if (luceneQuery == null) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Search query cannot be empty");
+        }
+
+        IndexSearcher searcher;
+        try {
+            searcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            // cukup ambil top (page + 1) * size
+            TopFieldDocs top = searcher.search(luceneQuery, (page + 1) * size, RELEVANCE, true);
+            int total = searcher.count(luceneQuery);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<Document> docs = new ArrayList<>();
+            List<Float> scores = new ArrayList<>();
+            for (int i = page * size; i < top.scoreDocs.length; i++) {
+                docs.add(storedFields.document(top.scoreDocs[i].doc));
+                scores.add(top.scoreDocs[i].score);
+            }
+
+            Map<Long, String> snippets = snippets(luceneQuery, docs);
+            List<ArticleSearchHitDto> items = new ArrayList<>(docs.size());
+            for (int i = 0; i < docs.size(); i++) {
+                items.add(toHit(docs.get(i), scores.get(i), snippets));
+            }
+            return new SearchPageDto<>(query, items, page, size, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException e) {
+                log.warn("Failed to release index searcher", e);
+            }
+        }
+    }
+
+    // setiap term query dicari di semua field (SHOULD), dengan boost per field; null kalau query tidak punya term
+    Query buildQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean any = false;
+        for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+            Query fieldQuery = builder.createBooleanQuery(field.getKey(), text, BooleanClause.Occur.SHOULD);
+            if (fieldQuery != null) {
+                query.add(new BoostQuery(fieldQuery, field.getValue()), BooleanClause.Occur.SHOULD);
+                any = true;
+            }
+        }
+        return any ? query.build() : null;
+    }
+
+    private ArticleSearchHitDto toHit(Document doc, float score, Map<Long, String> snippets) {
+        Long id = Long.valueOf(doc.get(ID));
+        String createdAt = doc.get(CREATED_AT);
+        List<String> tagNames = Arrays.stream(doc.getValues(TAGS)).sorted().toList();
+        return new ArticleSearchHitDto(id, doc.get(TITLE), doc.get(SLUG), doc.get(THUMBNAIL),
+                doc.get(AUTHOR_NAME), doc.get(CATEGORY), tagNames,
+                createdAt != null ? LocalDateTime.parse(createdAt) : null,
+                score, snippets.getOrDefault(id, ""));
+    }
+
+    // content hanya untuk artikel di halaman ini (maks. satu halaman), satu query
+    private Map<Long, String> snippets(Query query, List<Document> docs) {
+        if (docs.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = docs.stream().map(doc -> Long.valueOf(doc.get(ID))).toList();
+        Map<Long, String> contents = articlesRepository.findContentRowsByIdIn(ids).stream()
+                .filter(row -> row.getContent() != null)
+                .collect(Collectors.toMap(ArticlesRepository.ContentRow::getId, ArticlesRepository.ContentRow::getContent));
+
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+                new SimpleHTMLEncoder(), new QueryScorer(query, CONTENT));
+        highlighter.setTextFragmenter(new SimpleFragmenter(SNIPPET_LENGTH));
+        Map<Long, String> snippets = new HashMap<>();
+        contents.forEach((id, content) -> snippets.put(id, snippet(highlighter, plainText(content))));
+        return snippets;
+    }
+
+    // potongan content dengan term yang cocok dibungkus <em> (teks lain di-escape);
+    // kalau yang cocok hanya judul / tag, awal content
+    private String snippet(Highlighter highlighter, String text) {
+        if (text.isEmpty()) {
+            return "";
+        }
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, CONTENT, text);
+            if (fragment != null) {
+                return fragment;
+            }
+        } catch (IOException | InvalidTokenOffsetsException e) {
+            log.debug("Failed to highlight search snippet", e);
+        }
+        return text.length() <= SNIPPET_LENGTH
+                ? HtmlUtils.htmlEscape(text)
+                : HtmlUtils.htmlEscape(text.substring(0, SNIPPET_LENGTH)) + "...";
+    }
+
+    static String plainText(String html) {
+        if (html == null) {
+            return "";
+        }
+        return HtmlUtils.htmlUnescape(HTML_TAG.matcher(html).replaceAll(" "))
+                .replaceAll("\\s+", " ").trim();
+    }
+
+    static Document toDocument(Article article) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, String.valueOf(article.getId()), Field.Store.YES));
+        addText(doc, TITLE, article.getTitle(), Field.Store.YES);
+        addStored(doc, SLUG, article.getSlug());
+        addStored(doc, THUMBNAIL, article.getThumbnailUrlApprove() != null
+                ? article.getThumbnailUrlApprove() : article.getThumbnailUrlPending());
+        addStored(doc, AUTHOR_NAME, article.getAuthor() != null ? article.getAuthor().getFullName() : null);
+        addText(doc, CATEGORY, article.getCategory() != null ? article.getCategory().getName() : null, Field.Store.YES);
+        if (article.getTags() != null) {
+            for (String tag : article.getTags().stream().map(Tag::getName).filter(Objects::nonNull).sorted().toList()) {
+                doc.add(new TextField(TAGS, tag, Field.Store.YES));
+            }
+        }
+        // content di-index saja, tidak disimpan di index
+        addText(doc, CONTENT, plainText(article.getContent()), Field.Store.NO);
+
+        LocalDateTime createdAt = article.getCreatedAt();
+        addStored(doc, CREATED_AT, createdAt != null ? createdAt.toString() : null);
+        doc.add(new NumericDocValuesField(CREATED_AT_SORT,
+                createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE));
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value, Field.Store store) {
+        if (value != null && !value.isEmpty()) {
+            doc.add(new TextField(field, value, store));
+        }
+    }
+
+    private static void addStored(Document doc, String field, String value) {
+        if (value != null) {
+            doc.add(new StoredField(field, value));
+        }
+    }
+
+    private void afterCommit(IndexChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(IndexChange change) {
+        try {
+            synchronized (this) {
+                change.apply(writer);
+                if (changesDuringRebuild != null) {
+                    // reader tidak di-refresh di tengah rebuild (index belum lengkap), dicatat untuk replay
+                    changesDuringRebuild.add(change);
+                    return;
+                }
+                // refresh di dalam lock: rebuild yang mulai (deleteAll) setelah ini belum boleh terlihat reader
+                searcherManager.maybeRefreshBlocking();
+            }
+        } catch (IOException e) {
+            log.error("Failed to update search index", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void apply(IndexWriter writer) throws IOException;
+    }
+}
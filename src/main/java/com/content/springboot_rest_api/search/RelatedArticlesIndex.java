@@ -0,0 +1,439 @@
+package com.content.springboot_rest_api.search;
+
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Index "related articles" yang sudah dihitung di depan untuk artikel approved.
+ * Similarity = weighted Jaccard atas tag (bobot idf, tag langka lebih berarti)
+ * + bonus kalau kategorinya sama. Per artikel disimpan top-N, jadi endpoint tinggal lookup.
+ * Perubahan dari approve / reject / update / delete hanya menghitung ulang artikel
+ * yang berbagi tag / kategori dengan artikel tersebut, di background (executor) setelah commit:
+ * request approve tidak menunggu graph, dan perubahan beruntun untuk artikel yang sama digabung jadi satu.
+ * Tag yang dipakai lebih dari max-tag-articles artikel tidak dipakai mencari kandidat (stop-tag),
+ * supaya satu perubahan tidak menyentuh hampir semua artikel.
+ */
+@Component
+@Slf4j
+public class RelatedArticlesIndex {
+
+    private static final double CATEGORY_BONUS = 0.25;
+
+    private final ArticlesRepository articlesRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final TaskExecutor taskExecutor;
+    private final int topN;
+    private final int maxTagArticles;
+    private final boolean rebuildOnStartup;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // dua field di bawah dijaga oleh lock
+    private Graph graph;
+    private List<Consumer<Graph>> changesDuringRebuild;
+    // perubahan yang belum diterapkan, per artikel hanya yang terakhir; dijaga oleh synchronized (pending)
+    private final Map<Long, Consumer<Graph>> pending = new LinkedHashMap<>();
+    private boolean drainScheduled;
+
+    public RelatedArticlesIndex(ArticlesRepository articlesRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                @Value("${app.related.top-n:10}") int topN,
+                                @Value("${app.related.max-tag-articles:500}") int maxTagArticles,
+                                @Value("${app.related.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.articlesRepository = articlesRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.topN = topN;
+        this.maxTagArticles = maxTagArticles;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.graph = new Graph(topN, maxTagArticles);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        // jangan tahan startup, graph dibangun di background (executor Spring, ikut dihentikan saat shutdown)
+        taskExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Initial related articles build failed", e);
+            }
+        });
+    }
+
+    // id artikel terkait, urut dari yang paling mirip; kosong kalau artikel tidak ada di index
+    public List<Long> relatedIds(Long articleId) {
+        lock.readLock().lock();
+        try {
+            return graph.related.getOrDefault(articleId, List.of()).stream()
+                    .map(Scored::articleId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // snapshot tag & kategori diambil di dalam transaksi, index berubah setelah commit
+    public void putAfterCommit(Article article) {
+        Long articleId = article.getId();
+        Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+        Set<Long> tagIds = article.getTags() == null ? Set.of()
+                : article.getTags().stream().map(Tag::getId).collect(Collectors.toUnmodifiableSet());
+        afterCommit(articleId, graph -> graph.put(articleId, categoryId, tagIds));
+    }
+
+    public void removeAfterCommit(Long articleId) {
+        afterCommit(articleId, graph -> graph.remove(articleId));
+    }
+
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        writeLocked(() -> changesDuringRebuild = new ArrayList<>());
+        try {
+            // cukup id: (article, category) & (article, tag), tanpa load entity
+            Map<Long, Long> categories = new HashMap<>();
+            Map<Long, Set<Long>> tags = new HashMap<>();
+            readOnlyTx.executeWithoutResult(status -> {
+                for (Object[] row : articlesRepository.findCategoryRowsByAuthCode("A")) {
+                    categories.put((Long) row[0], (Long) row[1]);
+                }
+                for (Object[] row : articlesRepository.findTagRowsByAuthCode("A")) {
+                    tags.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+                }
+            });
+
+            Graph fresh = new Graph(topN, maxTagArticles);
+            categories.forEach((articleId, categoryId) ->
+                    fresh.add(articleId, categoryId, tags.getOrDefault(articleId, Set.of())));
+            fresh.recomputeAll();
+
+            writeLocked(() -> {
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                graph = fresh;
+            });
+            log.info("Related articles index rebuilt for {} articles", categories.size());
+        } finally {
+            writeLocked(() -> changesDuringRebuild = null);
+            rebuilding.set(false);
+        }
+    }
+
+    private void afterCommit(Long articleId, Consumer<Graph> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(articleId, change);
+                }
+            });
+        } else {
+            enqueue(articleId, change);
+        }
+    }
+
+    private void enqueue(Long articleId, Consumer<Graph> change) {
+        synchronized (pending) {
+            // perubahan lama untuk artikel yang sama belum diterapkan: cukup yang terakhir
+            pending.remove(articleId);
+            pending.put(articleId, change);
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        try {
+            taskExecutor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            // executor sudah berhenti (shutdown): perubahan tetap di pending, diambil enqueue berikutnya
+            synchronized (pending) {
+                drainScheduled = false;
+            }
+            log.warn("Related articles update not scheduled", e);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<Consumer<Graph>> changes;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    drainScheduled = false;
+                    return;
+                }
+                changes = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+            // lock dilepas di antara perubahan supaya pembaca tidak menunggu seluruh batch
+            for (Consumer<Graph> change : changes) {
+                try {
+                    apply(change);
+                } catch (RuntimeException e) {
+                    log.error("Failed to apply related articles update", e);
+                }
+            }
+        }
+    }
+
+    private void apply(Consumer<Graph> change) {
+        writeLocked(() -> {
+            change.accept(graph);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        });
+    }
+
+    private void writeLocked(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    record Scored(Long articleId, double score) {
+    }
+
+    private record Doc(Long categoryId, Set<Long> tagIds) {
+    }
+
+    // isi index; tidak thread-safe sendiri, selalu diakses lewat lock
+    private static final class Graph {
+        private static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(Scored::articleId, Comparator.reverseOrder());
+
+        private final int topN;
+        private final int maxTagArticles;
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Map<Long, Set<Long>> articlesByTag = new HashMap<>();
+        // id menurun = artikel terbaru dulu, dipakai untuk mengisi sisa slot dari kategori yang sama
+        private final Map<Long, NavigableSet<Long>> articlesByCategory = new HashMap<>();
+        private final Map<Long, List<Scored>> related = new HashMap<>();
+        // kebalikan related: artikel mana saja yang mencantumkan id ini
+        private final Map<Long, Set<Long>> listedBy = new HashMap<>();
+
+        private Graph(int topN, int maxTagArticles) {
+            this.topN = topN;
+            this.maxTagArticles = maxTagArticles;
+        }
+
+        void put(Long articleId, Long categoryId, Set<Long> tagIds) {
+            Set<Long> previouslyListing = new HashSet<>(listedBy.getOrDefault(articleId, Set.of()));
+            detach(articleId);
+            add(articleId, categoryId, tagIds);
+
+            setRelated(articleId, topFor(articleId));
+
+            // tetangga: cukup sisipkan / perbarui skor artikel ini di list mereka
+            Set<Long> recompute = new HashSet<>();
+            Set<Long> candidates = candidates(articleId);
+            for (Long other : candidates) {
+                if (!mergeInto(other, articleId)) {
+                    recompute.add(other);
+                }
+            }
+            // tetangga lama yang tidak lagi berbagi tag / kategori: hitung ulang penuh
+            for (Long other : previouslyListing) {
+                if (!candidates.contains(other)) {
+                    recompute.add(other);
+                }
+            }
+            recompute.remove(articleId);
+            recompute.forEach(other -> setRelated(other, topFor(other)));
+        }
+
+        void remove(Long articleId) {
+            if (!docs.containsKey(articleId)) {
+                return;
+            }
+            Set<Long> affected = new HashSet<>(listedBy.getOrDefault(articleId, Set.of()));
+            detach(articleId);
+            setRelated(articleId, List.of());
+            related.remove(articleId);
+            affected.forEach(other -> setRelated(other, topFor(other)));
+        }
+
+        void add(Long articleId, Long categoryId, Set<Long> tagIds) {
+            docs.put(articleId, new Doc(categoryId, tagIds));
+            tagIds.forEach(tagId -> articlesByTag.computeIfAbsent(tagId, id -> new HashSet<>()).add(articleId));
+            if (categoryId != null) {
+                articlesByCategory.computeIfAbsent(categoryId, id -> new TreeSet<>(Comparator.reverseOrder()))
+                        .add(articleId);
+            }
+        }
+
+        void recomputeAll() {
+            docs.keySet().forEach(articleId -> setRelated(articleId, topFor(articleId)));
+        }
+
+        private void detach(Long articleId) {
+            Doc previous = docs.remove(articleId);
+            if (previous == null) {
+                return;
+            }
+            previous.tagIds().forEach(tagId -> removeFrom(articlesByTag, tagId, articleId));
+            if (previous.categoryId() != null) {
+                removeFrom(articlesByCategory, previous.categoryId(), articleId);
+            }
+        }
+
+        // artikel lain yang berbagi tag (kecuali stop-tag), ditambah artikel terbaru dari kategori yang sama
+        private Set<Long> candidates(Long articleId) {
+            Doc doc = docs.get(articleId);
+            Set<Long> candidates = new HashSet<>();
+            for (Long tagId : doc.tagIds()) {
+                Set<Long> tagged = articlesByTag.getOrDefault(tagId, Set.of());
+                // tag umum: bobot idf-nya kecil, tapi kandidatnya hampir semua artikel
+                if (tagged.size() <= maxTagArticles) {
+                    candidates.addAll(tagged);
+                }
+            }
+            if (doc.categoryId() != null) {
+                int added = 0;
+                for (Long sameCategory : articlesByCategory.getOrDefault(doc.categoryId(), Collections.emptyNavigableSet())) {
+                    if (added >= topN) {
+                        break;
+                    }
+                    if (!sameCategory.equals(articleId) && candidates.add(sameCategory)) {
+                        added++;
+                    }
+                }
+            }
+            candidates.remove(articleId);
+            return candidates;
+        }
+
+        private List<Scored> topFor(Long articleId) {
+            if (!docs.containsKey(articleId)) {
+                return List.of();
+            }
+            PriorityQueue<Scored> top = new PriorityQueue<>(BEST_FIRST.reversed());
+            for (Long other : candidates(articleId)) {
+                double score = similarity(articleId, other);
+                if (score <= 0) {
+                    continue;
+                }
+                top.offer(new Scored(other, score));
+                if (top.size() > topN) {
+                    top.poll();
+                }
+            }
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(BEST_FIRST);
+            return List.copyOf(ranked);
+        }
+
+        /**
+         * Sisipkan / perbarui target di list milik owner.
+         * false kalau list owner perlu dihitung ulang penuh: skor target turun, jadi kandidat
+         * lain yang tadinya tidak masuk top-N mungkin sekarang lebih tinggi.
+         */
+        private boolean mergeInto(Long owner, Long target) {
+            List<Scored> current = related.getOrDefault(owner, List.of());
+            List<Scored> updated = new ArrayList<>(current.size() + 1);
+            Double previousScore = null;
+            for (Scored scored : current) {
+                if (scored.articleId().equals(target)) {
+                    previousScore = scored.score();
+                } else {
+                    updated.add(scored);
+                }
+            }
+
+            double score = similarity(owner, target);
+            if (previousScore != null && score < previousScore) {
+                return false;
+            }
+            if (score > 0) {
+                updated.add(new Scored(target, score));
+            }
+            updated.sort(BEST_FIRST);
+            if (updated.size() > topN) {
+                updated = updated.subList(0, topN);
+            }
+            setRelated(owner, List.copyOf(updated));
+            return true;
+        }
+
+        private double similarity(Long first, Long second) {
+            Doc a = docs.get(first);
+            Doc b = docs.get(second);
+            if (a == null || b == null) {
+                return 0;
+            }
+
+            double intersection = 0;
+            double union = 0;
+            for (Long tagId : a.tagIds()) {
+                double weight = tagWeight(tagId);
+                union += weight;
+                if (b.tagIds().contains(tagId)) {
+                    intersection += weight;
+                }
+            }
+            for (Long tagId : b.tagIds()) {
+                if (!a.tagIds().contains(tagId)) {
+                    union += tagWeight(tagId);
+                }
+            }
+
+            double score = union == 0 ? 0 : intersection / union;
+            if (a.categoryId() != null && a.categoryId().equals(b.categoryId())) {
+                score += CATEGORY_BONUS;
+            }
+            return score;
+        }
+
+        // idf: tag yang dipakai banyak artikel bobotnya kecil
+        private double tagWeight(Long tagId) {
+            int df = articlesByTag.getOrDefault(tagId, Set.of()).size();
+            return Math.log(1 + (double) docs.size() / Math.max(df, 1));
+        }
+
+        private void setRelated(Long owner, List<Scored> list) {
+            List<Scored> previous = related.put(owner, list);
+            if (previous != null) {
+                previous.forEach(scored -> removeFrom(listedBy, scored.articleId(), owner));
+            }
+            list.forEach(scored -> listedBy.computeIfAbsent(scored.articleId(), id -> new HashSet<>()).add(owner));
+        }
+
+        private static <S extends Collection<Long>> void removeFrom(Map<Long, S> index, Long key, Long articleId) {
+            S values = index.get(key);
+            if (values != null) {
+                values.remove(articleId);
+                if (values.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+}
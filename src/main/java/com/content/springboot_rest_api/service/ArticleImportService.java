@@ -0,0 +1,14 @@
+package com.content.springboot_rest_api.service;
+
+import com.content.springboot_rest_api.dto.ArticleImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ArticleImportService {
+
+    enum Format { NDJSON, CSV }
+
+    // import artikel (langsung approved) dari body yang dibaca secara streaming
+    ArticleImportResultDto importArticles(InputStream body, Format format) throws IOException;
+}
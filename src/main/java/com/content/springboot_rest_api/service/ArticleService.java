@@ -1,17 +1,26 @@
 package com.content.springboot_rest_api.service;
 
 import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.dto.ArticleSearchHitDto;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
+import com.content.springboot_rest_api.dto.BulkModerationReqDto;
+import com.content.springboot_rest_api.dto.BulkModerationResultDto;
+import com.content.springboot_rest_api.dto.CursorPageDto;
+import com.content.springboot_rest_api.dto.SearchPageDto;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ArticleService {
 
     ArticleDto createArticle(ArticleDto articleDto, MultipartFile thumbnail) throws IOException;
 
-    List<ArticleDto> getAllArticle();
+    CursorPageDto<ArticleSummaryDto> getAllArticle(String after, Integer limit);
 
     ArticleDto getArticleById(Long id);
 
@@ -21,12 +30,34 @@ public interface ArticleService {
 
     ArticleDto getArticleBySlug(String slug);
 
-    List<ArticleDto> getArticlesByCurrentUser();
+    // waktu perubahan terakhir, untuk conditional GET (ETag / Last-Modified)
+    Optional<LocalDateTime> getArticleLastModified(Long id);
 
-    List<ArticleDto> getApprovedArticles();
+    Optional<LocalDateTime> getArticleLastModifiedBySlug(String slug);
+
+    List<ArticleSummaryDto> getArticlesByCurrentUser();
+
+    CursorPageDto<ArticleSummaryDto> getApprovedArticles(String after, Integer limit);
 
     ArticleDto approveArticle(Long id, AuthorizeReqDto dto);
 
+    // full-text search artikel approved (title, content, tag, kategori)
+    SearchPageDto<ArticleSearchHitDto> searchArticles(String query, Integer page, Integer size);
+
+    int rebuildSearchIndex();
+
+    // tulis semua artikel approved sebagai NDJSON (satu artikel per baris), return jumlah artikel
+    long exportApprovedArticles(OutputStream out) throws IOException;
+
+    // artikel terkait (tag & kategori mirip), dari index yang sudah dihitung
+    List<ArticleSummaryDto> getRelatedArticles(Long id);
+
+    // artikel trending (views yang meluruh terhadap waktu), opsional per kategori
+    List<ArticleSummaryDto> getTrendingArticles(String categorySlug, Integer limit);
+
     ArticleDto rejectArticle(Long id, AuthorizeReqDto dto);
 
+    // approve / reject banyak artikel pending dalam satu transaksi, hasil per id
+    BulkModerationResultDto moderateArticles(BulkModerationReqDto dto);
+
 }
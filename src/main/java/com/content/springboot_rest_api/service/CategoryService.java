@@ -1,11 +1,13 @@
 package com.content.springboot_rest_api.service;
 
-import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
 import com.content.springboot_rest_api.dto.CategoryDto;
 import com.content.springboot_rest_api.dto.CategoryDtoTmp;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CategoryService {
 
@@ -21,7 +23,7 @@ public interface CategoryService {
 
     void deleteCategory(Long id);
 
-    List<ArticleDto> getArticlesByCategorySlug(String slug);
+    List<ArticleSummaryDto> getArticlesByCategorySlug(String slug);
 
     //  approval dan reject sekarang digabung jadi satu method
     CategoryDtoTmp approveOrRejectCategory(Long id, AuthorizeReqDto categoryDto);
@@ -30,6 +32,11 @@ public interface CategoryService {
 
     CategoryDto getCategoryBySlug(String slug);
 
+    // waktu perubahan terakhir, untuk conditional GET (ETag / Last-Modified)
+    Optional<LocalDateTime> getCategoryLastModified(Long id);
+
+    Optional<LocalDateTime> getCategoryLastModifiedBySlug(String slug);
+
     List<CategoryDto> getAllApprovedCategories();
 
    List<CategoryDtoTmp> getAllCategoriesTmp();
@@ -1,11 +1,13 @@
 package com.content.springboot_rest_api.service;
 
-import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
 import com.content.springboot_rest_api.dto.TagDto;
 import com.content.springboot_rest_api.dto.TagDtoTmp;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface TagService {
 
@@ -18,13 +20,18 @@ public interface TagService {
 
     TagDto getTagsBySlug(String slug);
 
+    // waktu perubahan terakhir, untuk conditional GET (ETag / Last-Modified)
+    Optional<LocalDateTime> getTagLastModified(Long id);
+
+    Optional<LocalDateTime> getTagLastModifiedBySlug(String slug);
+
     List<TagDto> getAllTagsByCurrentUser();
 
     TagDtoTmp updateTags(Long id, TagDto tagDto);
 
     void deleteTag(Long id);
 
-    List<ArticleDto> getArticlesByTagSlug(String slug);
+    List<ArticleSummaryDto> getArticlesByTagSlug(String slug);
 
     TagDto approveOrRejected(Long tmpId, AuthorizeReqDto req);
 
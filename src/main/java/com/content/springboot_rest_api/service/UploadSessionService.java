@@ -0,0 +1,29 @@
+package com.content.springboot_rest_api.service;
+
+import com.content.springboot_rest_api.dto.UploadSessionDto;
+import com.content.springboot_rest_api.dto.UploadSessionReqDto;
+import com.content.springboot_rest_api.entity.UploadSession;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UploadSessionService {
+
+    // clientIp dipakai untuk kuota sesi anonim (foto profil sebelum register)
+    UploadSessionDto createSession(UploadSessionReqDto dto, String clientIp);
+
+    // status & offset sesi, dipakai client untuk melanjutkan upload yang terputus
+    UploadSessionDto getSession(String id);
+
+    // tulis satu potongan (header Content-Range: bytes start-end/total) mulai dari offset yang diminta
+    UploadSessionDto appendChunk(String id, String contentRange, InputStream body) throws IOException;
+
+    // validasi isi file & simpan ke storage; aman dipanggil ulang
+    UploadSessionDto completeSession(String id) throws IOException;
+
+    /**
+     * Pakai upload yang sudah selesai untuk artikel / user, di dalam transaksi caller.
+     * Return path publik; referensi file pindah dari sesi ke pemakainya.
+     */
+    String consumeUpload(String id, UploadSession.Kind kind);
+}
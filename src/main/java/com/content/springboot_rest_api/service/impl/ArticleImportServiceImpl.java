@@ -0,0 +1,363 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.dto.ArticleImportErrorDto;
+import com.content.springboot_rest_api.dto.ArticleImportResultDto;
+import com.content.springboot_rest_api.dto.ArticleImportRowDto;
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Category;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.entity.User;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import com.content.springboot_rest_api.repository.CategoryRepository;
+import com.content.springboot_rest_api.repository.TagRepository;
+import com.content.springboot_rest_api.repository.UserRepository;
+import com.content.springboot_rest_api.search.ArticleSearchIndex;
+import com.content.springboot_rest_api.search.RelatedArticlesIndex;
+import com.content.springboot_rest_api.service.ArticleImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import artikel massal dari NDJSON / CSV.
+ * Body dibaca baris per baris (tidak ditampung utuh), kategori & tag di-resolve dari map in-memory,
+ * lalu tiap chunk di-insert dalam satu transaksi pendek dengan JDBC batching + flush/clear berkala.
+ */
+@Service
+@Slf4j
+public class ArticleImportServiceImpl implements ArticleImportService {
+
+    // jumlah baris per transaksi
+    private static final int CHUNK_SIZE = 500;
+    // samakan dengan hibernate.jdbc.batch_size
+    private static final int FLUSH_SIZE = 50;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ArticlesRepository articlesRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final UserRepository userRepository;
+    private final ArticleSearchIndex searchIndex;
+    private final RelatedArticlesIndex relatedIndex;
+    private final PublicResponseCache publicResponseCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ArticleImportServiceImpl(ArticlesRepository articlesRepository,
+                                    CategoryRepository categoryRepository,
+                                    TagRepository tagRepository,
+                                    UserRepository userRepository,
+                                    ArticleSearchIndex searchIndex,
+                                    RelatedArticlesIndex relatedIndex,
+                                    PublicResponseCache publicResponseCache,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.articlesRepository = articlesRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.relatedIndex = relatedIndex;
+        this.publicResponseCache = publicResponseCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ArticleImportResultDto importArticles(InputStream body, Format format) throws IOException {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User author = userRepository.findByUsername(username)
+                .orElseThrow(() -> new GlobalAPIException(HttpStatus.UNAUTHORIZED, "The currently logged in user was not found."));
+
+        // lookup sekali di awal, entity dipakai ulang (detached) untuk relasi artikel baru
+        Map<String, Category> categories = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getSlug, Function.identity()));
+        Map<String, Tag> tags = tagRepository.findAll().stream()
+                .collect(Collectors.toMap(Tag::getSlug, Function.identity()));
+
+        ImportRun run = new ImportRun(author, categories, tags);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        importChunk(run);
+
+        if (run.imported > 0) {
+            publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_ARTICLES);
+        }
+        log.info("Article import finished: {} imported, {} failed", run.imported, run.failed);
+        return new ArticleImportResultDto(run.imported, run.failed, run.errors);
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(run, lineNumber, objectMapper.readValue(line, ArticleImportRowDto.class));
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("title", "content", "category_slug")) {
+            if (!columns.containsKey(required)) {
+                throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "CSV header must contain column: " + required);
+            }
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            String tagColumn = column(record, columns, "tag_slugs");
+            List<String> tagSlugs = tagColumn == null || tagColumn.isBlank() ? List.of()
+                    : Arrays.stream(tagColumn.split("\\|")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+            accept(run, csv.recordLine(), new ArticleImportRowDto(
+                    column(record, columns, "title"),
+                    column(record, columns, "slug"),
+                    column(record, columns, "content"),
+                    column(record, columns, "category_slug"),
+                    tagSlugs));
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    // validasi baris lalu masukkan ke chunk; chunk penuh langsung di-insert
+    private void accept(ImportRun run, long line, ArticleImportRowDto row) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            run.fail(line, "title cannot be empty");
+            return;
+        }
+        if (row.getContent() == null || row.getContent().isBlank()) {
+            run.fail(line, "content cannot be empty");
+            return;
+        }
+        Category category = row.getCategorySlug() == null ? null : run.categories.get(row.getCategorySlug().trim());
+        if (category == null) {
+            run.fail(line, "Category not found with slug : " + row.getCategorySlug());
+            return;
+        }
+        Set<Tag> articleTags = new HashSet<>();
+        for (String tagSlug : row.getTagSlugs() == null ? List.<String>of() : row.getTagSlugs()) {
+            Tag tag = run.tags.get(tagSlug.trim());
+            if (tag == null) {
+                run.fail(line, "Tag not found with slug : " + tagSlug);
+                return;
+            }
+            articleTags.add(tag);
+        }
+
+        String slug = row.getSlug() != null && !row.getSlug().isBlank() ? row.getSlug().trim() : generateSlug(row.getTitle());
+        if (slug.isEmpty()) {
+            run.fail(line, "slug cannot be generated from title");
+            return;
+        }
+        if (!run.slugsInImport.add(slug)) {
+            run.fail(line, "Duplicate slug in import: " + slug);
+            return;
+        }
+
+        Article article = new Article();
+        article.setTitle(row.getTitle().trim());
+        article.setSlug(slug);
+        article.setContent(row.getContent());
+        article.setCategory(category);
+        article.setTags(articleTags);
+        article.setAuthor(run.author);
+        article.setAuthCode("A"); // hasil migrasi langsung approved
+        article.setActionCode("A");
+        article.setCreatedBy(run.author.getUsername());
+
+        run.chunk.add(new PendingRow(line, article));
+        if (run.chunk.size() >= CHUNK_SIZE) {
+            importChunk(run);
+        }
+    }
+
+    private void importChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<PendingRow> rows = new ArrayList<>(run.chunk);
+        run.chunk.clear();
+
+        // slug yang sudah ada di DB: satu query per chunk
+        Set<String> existing = new HashSet<>(articlesRepository.findExistingSlugs(
+                rows.stream().map(row -> row.article().getSlug()).toList()));
+        List<PendingRow> insertable = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            if (existing.contains(row.article().getSlug())) {
+                run.fail(row.line(), "Slug already exists: " + row.article().getSlug());
+            } else {
+                insertable.add(row);
+            }
+        }
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int pending = 0;
+                for (PendingRow row : insertable) {
+                    entityManager.persist(row.article());
+                    searchIndex.indexAfterCommit(row.article());
+                    relatedIndex.putAfterCommit(row.article());
+                    if (++pending % FLUSH_SIZE == 0) {
+                        // kirim batch INSERT lalu lepas entity supaya persistence context tidak membesar
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            run.imported += insertable.size();
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Failed to import chunk of {} articles: {}", insertable.size(), e.getMessage());
+            String message = "Chunk rolled back: " + e.getMessage();
+            insertable.forEach(row -> run.fail(row.line(), message));
+        }
+    }
+
+    private String generateSlug(String title) {
+        return title.toLowerCase()
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-|-$", "");
+    }
+
+    private record PendingRow(long line, Article article) {
+    }
+
+    // state satu kali import
+    private static final class ImportRun {
+        private final User author;
+        private final Map<String, Category> categories;
+        private final Map<String, Tag> tags;
+        private final Set<String> slugsInImport = new HashSet<>();
+        private final List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<ArticleImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private ImportRun(User author, Map<String, Category> categories, Map<String, Tag> tags) {
+            this.author = author;
+            this.categories = categories;
+            this.tags = tags;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ArticleImportErrorDto(line, message));
+            }
+        }
+    }
+
+    // parser CSV (RFC 4180) yang membaca per karakter: field ber-quote boleh berisi koma & newline
+    static final class CsvReader {
+        private final Reader reader;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // null kalau sudah akhir file
+        List<String> next() throws IOException {
+            recordLine = line;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                                "Unterminated quoted CSV field starting at line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            int c = reader.read();
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+}
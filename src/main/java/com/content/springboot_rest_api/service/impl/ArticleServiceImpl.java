@@ -1,29 +1,56 @@
 package com.content.springboot_rest_api.service.impl;
 
+import com.content.springboot_rest_api.cache.ArticleSlugCache;
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.component.ArticleTrendingTracker;
+import com.content.springboot_rest_api.component.ArticleViewCounter;
+import com.content.springboot_rest_api.component.ThumbnailRenditionGenerator;
 import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.dto.ArticleSearchHitDto;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
+import com.content.springboot_rest_api.dto.BulkModerationItemDto;
+import com.content.springboot_rest_api.dto.BulkModerationReqDto;
+import com.content.springboot_rest_api.dto.BulkModerationResultDto;
+import com.content.springboot_rest_api.dto.CursorPageDto;
+import com.content.springboot_rest_api.dto.SearchPageDto;
 import com.content.springboot_rest_api.entity.*;
 import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.mapper.ArticleMapper;
 import com.content.springboot_rest_api.repository.ArticlesRepository;
 import com.content.springboot_rest_api.repository.CategoryRepository;
+import com.content.springboot_rest_api.repository.CommentRepository;
 import com.content.springboot_rest_api.repository.TagRepository;
 import com.content.springboot_rest_api.repository.UserRepository;
+import com.content.springboot_rest_api.search.ArticleSearchIndex;
+import com.content.springboot_rest_api.search.RelatedArticlesIndex;
 import com.content.springboot_rest_api.service.ArticleService;
-import jakarta.transaction.Transactional;
+import com.content.springboot_rest_api.service.UploadSessionService;
+import com.content.springboot_rest_api.storage.UploadInspector;
+import com.content.springboot_rest_api.storage.UploadStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.*;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -33,40 +60,98 @@ public class ArticleServiceImpl implements ArticleService {
     private final CategoryRepository categoryRepository;
     private final ArticlesRepository articlesRepository;
     private final TagRepository tagRepository;
-    private final ModelMapper modelMapper;
-
-    @Value("${app.upload.article-photo-dir}")
-    private String thumbnailDir; // e.g. "uploads/photos/thumbnails"
+    private final CommentRepository commentRepository;
+    private final ArticleMapper articleMapper;
+    private final ArticleViewCounter viewCounter;
+    private final ArticleSlugCache articleSlugCache;
+    private final PublicResponseCache publicResponseCache;
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleTrendingTracker trendingTracker;
+    private final RelatedArticlesIndex relatedIndex;
+    private final ThumbnailRenditionGenerator renditionGenerator;
+    private final UploadStorage uploadStorage;
+    private final UploadInspector uploadInspector;
+    private final UploadSessionService uploadSessionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public ArticleServiceImpl(UserRepository userRepository,
                               CategoryRepository categoryRepository,
                               ArticlesRepository articlesRepository,
                               TagRepository tagRepository,
-                              ModelMapper modelMapper) {
+                              CommentRepository commentRepository,
+                              ArticleMapper articleMapper,
+                              ArticleViewCounter viewCounter,
+                              ArticleSlugCache articleSlugCache,
+                              PublicResponseCache publicResponseCache,
+                              ArticleSearchIndex searchIndex,
+                              ArticleTrendingTracker trendingTracker,
+                              RelatedArticlesIndex relatedIndex,
+                              ThumbnailRenditionGenerator renditionGenerator,
+                              UploadStorage uploadStorage,
+                              UploadInspector uploadInspector,
+                              UploadSessionService uploadSessionService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.articlesRepository = articlesRepository;
         this.tagRepository = tagRepository;
-        this.modelMapper = modelMapper;
+        this.commentRepository = commentRepository;
+        this.articleMapper = articleMapper;
+        this.viewCounter = viewCounter;
+        this.articleSlugCache = articleSlugCache;
+        this.publicResponseCache = publicResponseCache;
+        this.searchIndex = searchIndex;
+        this.trendingTracker = trendingTracker;
+        this.relatedIndex = relatedIndex;
+        this.renditionGenerator = renditionGenerator;
+        this.uploadStorage = uploadStorage;
+        this.uploadInspector = uploadInspector;
+        this.uploadSessionService = uploadSessionService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // === VALIDATION CONST ===
     private static final long MAX_SIZE = 2 * 1024 * 1024; // 2MB
-    private static final Map<String, String> ALLOWED_TYPES = Map.ofEntries(
-            Map.entry("png",  "image/png"),
-            Map.entry("jpg",  "image/jpeg"),
-            Map.entry("jpeg", "image/jpeg"),
-            Map.entry("gif",  "image/gif"),
-            Map.entry("webp", "image/webp"),
-            Map.entry("svg",  "image/svg+xml"),
-            Map.entry("heic", "image/heic"),
-            Map.entry("heif", "image/heif")
-    );
+
+    // === PAGINATION CONST ===
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+    private static final int MAX_PAGE_LIMIT = 100;
+
+    // pencarian pakai offset page (hasil diurutkan relevansi, bukan waktu)
+    private static final int DEFAULT_SEARCH_SIZE = 10;
+    private static final int MAX_SEARCH_SIZE = 50;
+    // (page + 1) * size maksimal: Lucene mengumpulkan semua hit sampai halaman yang diminta
+    private static final int MAX_SEARCH_WINDOW = 10_000;
+
+    private static final int DEFAULT_TRENDING_LIMIT = 10;
+    private static final int MAX_TRENDING_LIMIT = 50;
+
+    // export NDJSON: jumlah artikel per batch sebelum persistence context di-clear
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    // cleanup artikel rejected: jumlah artikel per transaksi delete
+    private static final int CLEANUP_CHUNK_SIZE = 500;
 
     // ---------------- CREATE ----------------
-    @Transactional
     @Override
     public ArticleDto createArticle(ArticleDto articleDto, MultipartFile thumbnail) {
+        // file ditulis sebelum transaksi dimulai, koneksi DB hanya dipegang untuk SQL
+        UploadStorage.StagedUpload staged = stageThumbnail(thumbnail);
+        try {
+            return transactionTemplate.execute(status -> saveNewArticle(articleDto, staged));
+        } catch (RuntimeException e) {
+            uploadStorage.discard(staged);
+            throw e;
+        }
+    }
+
+    private ArticleDto saveNewArticle(ArticleDto articleDto, UploadStorage.StagedUpload staged) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
@@ -76,7 +161,7 @@ public class ArticleServiceImpl implements ArticleService {
         Category category = categoryRepository.findById(articleDto.getCategoryId())
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Category not found"));
 
-        Article article = modelMapper.map(articleDto, Article.class);
+        Article article = articleMapper.toEntity(articleDto);
         article.setAuthor(author);
         article.setCategory(category);
         article.setSlug(generateSlug(articleDto.getTitle()));
@@ -89,92 +174,151 @@ public class ArticleServiceImpl implements ArticleService {
             article.setTags(tags);
         }
 
-        if (thumbnail != null && !thumbnail.isEmpty()) {
-            validateFile(thumbnail);
-            String path = saveFile(thumbnail, article.getSlug());
-            article.setThumbnailUrlPending(path);
+        String thumbnailPath = attachThumbnail(staged, articleDto.getThumbnailUploadId());
+        if (thumbnailPath != null) {
+            article.setThumbnailUrlPending(thumbnailPath);
         }
 
         article.setCreatedBy(username);
 
         Article saved = articlesRepository.save(article);
+        // rendition dibuat di background, response tidak menunggu
+        renditionGenerator.generateAfterCommit(saved.getId(), saved.getThumbnailUrlPending());
         return mapToResponse(saved);
     }
 
     // ---------------- READ ----------------
     @Override
-    public List<ArticleDto> getAllArticle() {
-        return articlesRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPageDto<ArticleSummaryDto> getAllArticle(String after, Integer limit) {
+        int pageLimit = resolveLimit(limit);
+        // ambil 1 baris lebih untuk tahu masih ada halaman berikutnya atau tidak
+        Limit fetch = Limit.of(pageLimit + 1);
+
+        List<ArticleSummaryDto> articles;
+        if (after == null || after.isBlank()) {
+            articles = articlesRepository.findFirstPage(fetch);
+        } else {
+            Cursor cursor = decodeCursor(after);
+            articles = articlesRepository.findPageAfter(cursor.createdAt(), cursor.id(), fetch);
+        }
+
+        return toPage(articles, pageLimit);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public ArticleDto getArticleById(Long id) {
-        Article article = articlesRepository.findById(id)
+        Article article = articlesRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Article not found"));
 
-        if (article.getViews() == null) {
-            article.setViews(0L);
+        return mapToResponseWithView(article);
+    }
+
+    @Override
+    public ArticleDto getArticleBySlug(String slug) {
+        // cache hit tidak menyentuh DB sama sekali; miss untuk slug yang sama digabung jadi satu query
+        ArticleDto cached = articleSlugCache.get(slug, this::loadArticleBySlug);
+        viewCounter.increment(cached.getId());
+        if ("A".equalsIgnoreCase(cached.getAuthCode())) {
+            trendingTracker.recordView(cached.getId(), cached.getCategoryId());
         }
-        article.setViews(article.getViews() + 1);
-        articlesRepository.save(article);
 
-        return mapToResponse(article);
+        // copy supaya instance di cache tidak ikut berubah;
+        // views di cache = views DB - flushedViews saat load, jadi angka tidak turun setelah counter flush
+        ArticleDto dto = articleMapper.copyOf(cached);
+        long views = cached.getViews() == null ? 0L : cached.getViews();
+        dto.setViews(views + viewCounter.countedViews(cached.getId()));
+        return dto;
     }
 
     @Override
-    @Transactional
-    public ArticleDto getArticleBySlug(String slug) {
-        Article article = articlesRepository.findBySlug(slug)
-                .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Article not found"));
+    public Optional<LocalDateTime> getArticleLastModified(Long id) {
+        return articlesRepository.findLastModifiedById(id);
+    }
 
-        if (article.getViews() == null) {
-            article.setViews(0L);
+    @Override
+    public Optional<LocalDateTime> getArticleLastModifiedBySlug(String slug) {
+        // ambil dari cache slug juga, jadi request 304 tidak menyentuh DB (dan tidak dihitung sebagai view)
+        ArticleDto cached;
+        try {
+            cached = articleSlugCache.get(slug, this::loadArticleBySlug);
+        } catch (GlobalAPIException e) {
+            if (e.getStatus() == HttpStatus.NOT_FOUND) {
+                return Optional.empty(); // sama seperti by id: 404 dijawab getArticleBySlug
+            }
+            throw e;
         }
-        article.setViews(article.getViews() + 1);
-        articlesRepository.save(article);
+        return Optional.ofNullable(cached.getUpdatedAt() != null ? cached.getUpdatedAt() : cached.getCreatedAt());
+    }
+
+    // artikel berubah: buang cache slug & refresh feed approved publik setelah commit
+    private void onArticleChanged(String slug) {
+        articleSlugCache.invalidate(slug);
+        publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_ARTICLES);
+    }
 
-        return mapToResponse(article);
+    // hanya untuk articleSlugCache: views disimpan relatif terhadap counter (lihat getArticleBySlug)
+    private ArticleDto loadArticleBySlug(String slug) {
+        Article article = articlesRepository.findBySlug(slug)
+                .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Article not found"));
+
+        ArticleDto dto = mapToResponse(article);
+        long views = article.getViews() == null ? 0L : article.getViews();
+        dto.setViews(views - viewCounter.flushedViews(article.getId()));
+        return dto;
     }
 
     @Override
-    public List<ArticleDto> getArticlesByCurrentUser() {
+    public List<ArticleSummaryDto> getArticlesByCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "User not found"));
+        if (userRepository.findByUsername(username).isEmpty()) {
+            throw new GlobalAPIException(HttpStatus.NOT_FOUND, "User not found");
+        }
 
-        List<Article> articles = articlesRepository.findByAuthor(user);
+        List<ArticleSummaryDto> articles = articlesRepository.findSummariesByAuthorUsername(username);
         if (articles.isEmpty()) {
             throw new GlobalAPIException(HttpStatus.NOT_FOUND, "There are no articles belonging to this user");
         }
 
-        return articles.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return articles;
     }
 
     @Override
-    public List<ArticleDto> getApprovedArticles() {
-        List<Article> articles = articlesRepository.findByAuthCode("A");
-        if (articles.isEmpty()) {
-            throw new GlobalAPIException(HttpStatus.NOT_FOUND, "There are no articles with approved status");
+    public CursorPageDto<ArticleSummaryDto> getApprovedArticles(String after, Integer limit) {
+        int pageLimit = resolveLimit(limit);
+        Limit fetch = Limit.of(pageLimit + 1);
+
+        List<ArticleSummaryDto> articles;
+        if (after == null || after.isBlank()) {
+            articles = articlesRepository.findFirstPageByAuthCode("A", fetch);
+            if (articles.isEmpty()) {
+                throw new GlobalAPIException(HttpStatus.NOT_FOUND, "There are no articles with approved status");
+            }
+        } else {
+            Cursor cursor = decodeCursor(after);
+            articles = articlesRepository.findPageAfterByAuthCode("A", cursor.createdAt(), cursor.id(), fetch);
         }
 
-        return articles.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return toPage(articles, pageLimit);
     }
 
     // ---------------- UPDATE ----------------
-    @Transactional
     @Override
     public ArticleDto updateArticle(Long id, ArticleDto dto, MultipartFile thumbnail) {
-        Article article = articlesRepository.findById(id)
+        // sama seperti create: thumbnail baru di-stage dulu, transaksi hanya untuk SQL
+        UploadStorage.StagedUpload staged = stageThumbnail(thumbnail);
+        try {
+            return transactionTemplate.execute(status -> applyUpdate(id, dto, staged));
+        } catch (RuntimeException e) {
+            uploadStorage.discard(staged);
+            throw e;
+        }
+    }
+
+    private ArticleDto applyUpdate(Long id, ArticleDto dto, UploadStorage.StagedUpload staged) {
+        Article article = articlesRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Article not found"));
 
         if (article.getAuthCode().equalsIgnoreCase("P")) {
@@ -197,6 +341,8 @@ public class ArticleServiceImpl implements ArticleService {
             throw new GlobalAPIException(HttpStatus.FORBIDDEN, "You may not update other users' data");
         }
 
+        onArticleChanged(article.getSlug());
+
         if (dto.getTitle() != null) {
             article.setTitle(dto.getTitle());
             article.setSlug(generateSlug(dto.getTitle()));
@@ -214,15 +360,15 @@ public class ArticleServiceImpl implements ArticleService {
             article.setTags(tags);
         }
 
-        if (thumbnail != null && !thumbnail.isEmpty()) {
-            validateFile(thumbnail);
-
+        String path = attachThumbnail(staged, dto.getThumbnailUploadId());
+        if (path != null) {
             if (article.getThumbnailUrlPending() != null) {
                 deleteThumbnail(article.getThumbnailUrlPending());
             }
 
-            String path = saveFile(thumbnail, article.getSlug());
             article.setThumbnailUrlPending(path);
+            article.setThumbnailRenditionsPending(null);
+            renditionGenerator.generateAfterCommit(article.getId(), path);
         }
 
 
@@ -231,6 +377,10 @@ public class ArticleServiceImpl implements ArticleService {
         article.setActionCode("E"); // Edit
 
         Article updated = articlesRepository.save(article);
+        onArticleChanged(updated.getSlug());
+        // kembali pending -> keluar dari hasil pencarian sampai di-approve lagi
+        searchIndex.removeAfterCommit(updated.getId());
+        relatedIndex.removeAfterCommit(updated.getId());
         return mapToResponse(updated);
     }
 
@@ -265,13 +415,16 @@ public class ArticleServiceImpl implements ArticleService {
         article.setActionCode("D");
 
         articlesRepository.save(article);
+        onArticleChanged(article.getSlug());
+        searchIndex.removeAfterCommit(article.getId());
+        relatedIndex.removeAfterCommit(article.getId());
     }
 
     // ---------------- APPROVE ----------------
     @Transactional
     @Override
     public ArticleDto approveArticle(Long id, AuthorizeReqDto dto) {
-        Article article = articlesRepository.findById(id)
+        Article article = articlesRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Article not found"));
 
         // FE harus kirim auth_code = "A"
@@ -285,11 +438,15 @@ public class ArticleServiceImpl implements ArticleService {
             throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "action code cannot be empty");
         }
 
+        onArticleChanged(article.getSlug());
+
         switch (action) {
             case "A": // First Add
                 if (article.getThumbnailUrlPending() != null) {
                     article.setThumbnailUrlApprove(article.getThumbnailUrlPending());
                     article.setThumbnailUrlPending(null);
+                    article.setThumbnailRenditionsApprove(article.getThumbnailRenditionsPending());
+                    article.setThumbnailRenditionsPending(null);
                 }
                 break;
 
@@ -300,6 +457,8 @@ public class ArticleServiceImpl implements ArticleService {
                 if (article.getThumbnailUrlPending() != null) {
                     article.setThumbnailUrlApprove(article.getThumbnailUrlPending());
                     article.setThumbnailUrlPending(null);
+                    article.setThumbnailRenditionsApprove(article.getThumbnailRenditionsPending());
+                    article.setThumbnailRenditionsPending(null);
                 }
                 break;
 
@@ -307,6 +466,9 @@ public class ArticleServiceImpl implements ArticleService {
                 deleteThumbnail(article.getThumbnailUrlPending());
                 deleteThumbnail(article.getThumbnailUrlApprove());
                 articlesRepository.delete(article);
+                searchIndex.removeAfterCommit(article.getId());
+                relatedIndex.removeAfterCommit(article.getId());
+                trendingTracker.remove(article.getId());
                 return null;
 
             default:
@@ -320,14 +482,134 @@ public class ArticleServiceImpl implements ArticleService {
         article.setUpdatedAt(java.time.LocalDateTime.now());
 
         Article saved = articlesRepository.save(article);
+        searchIndex.indexAfterCommit(saved);
+        relatedIndex.putAfterCommit(saved);
         return mapToResponse(saved);
     }
 
+    @Override
+    public SearchPageDto<ArticleSearchHitDto> searchArticles(String query, Integer page, Integer size) {
+        int resolvedPage = page == null ? 0 : page;
+        int resolvedSize = size == null ? DEFAULT_SEARCH_SIZE : size;
+        if (resolvedPage < 0) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "page must be 0 or greater");
+        }
+        if (resolvedSize < 1 || resolvedSize > MAX_SEARCH_SIZE) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + MAX_SEARCH_SIZE);
+        }
+        // dihitung dalam long: page besar tidak boleh overflow jadi jumlah hit negatif
+        if (((long) resolvedPage + 1) * resolvedSize > MAX_SEARCH_WINDOW) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                    "(page + 1) * size must not exceed " + MAX_SEARCH_WINDOW);
+        }
+        return searchIndex.search(query, resolvedPage, resolvedSize);
+    }
+
+    @Override
+    public int rebuildSearchIndex() {
+        return searchIndex.rebuild();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportApprovedArticles(OutputStream out) throws IOException {
+        long exported = 0;
+        List<Article> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+        // dibaca lewat cursor, memory hanya sebesar satu batch berapapun jumlah artikelnya
+        try (Stream<Article> articles = articlesRepository.streamByAuthCode("A")) {
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exported += writeExportChunk(chunk, out);
+                    chunk.clear();
+                }
+            }
+            exported += writeExportChunk(chunk, out);
+        }
+        return exported;
+    }
+
+    private int writeExportChunk(List<Article> chunk, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // tags satu query per batch, bukan per artikel
+        List<Long> ids = chunk.stream().map(Article::getId).toList();
+        Map<Long, List<Object[]>> tagRows = articlesRepository.findTagRowsByArticleIds(ids)
+                .stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0]));
+
+        for (Article article : chunk) {
+            List<Object[]> rows = tagRows.getOrDefault(article.getId(), Collections.emptyList());
+            ArticleDto dto = articleMapper.toDto(article,
+                    rows.stream().map(row -> (Long) row[1]).toList(),
+                    rows.stream().map(row -> (String) row[2]).toList());
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        out.flush();
+
+        // lepas entity yang sudah ditulis supaya persistence context tidak terus membesar
+        entityManager.clear();
+        return chunk.size();
+    }
+
+    @Override
+    public List<ArticleSummaryDto> getRelatedArticles(Long id) {
+        List<Long> relatedIds = relatedIndex.relatedIds(id);
+        if (relatedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return findApprovedSummariesInOrder(relatedIds, relatedIds.size());
+    }
+
+    @Override
+    public List<ArticleSummaryDto> getTrendingArticles(String categorySlug, Integer limit) {
+        int resolvedLimit = limit == null ? DEFAULT_TRENDING_LIMIT : limit;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_TRENDING_LIMIT) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_TRENDING_LIMIT);
+        }
+
+        Long categoryId = null;
+        if (categorySlug != null && !categorySlug.isBlank()) {
+            categoryId = categoryRepository.findBySlug(categorySlug)
+                    .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND,
+                            "Category not found with slug : " + categorySlug))
+                    .getId();
+        }
+
+        // ambil kandidat lebih banyak: artikel yang sudah tidak approved tersaring di query
+        List<Long> rankedIds = trendingTracker.topArticleIds(categoryId, resolvedLimit * 2);
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return findApprovedSummariesInOrder(rankedIds, resolvedLimit);
+    }
+
+    // satu query untuk semua id, hasil dikembalikan sesuai urutan ids (yang tidak approved dilewati)
+    private List<ArticleSummaryDto> findApprovedSummariesInOrder(List<Long> ids, int limit) {
+        Map<Long, ArticleSummaryDto> summaries = articlesRepository.findSummariesByIdInAndAuthCode(ids, "A")
+                .stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getId, summary -> summary));
+
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
     // ---------------- REJECT ----------------
     @Transactional
     @Override
     public ArticleDto rejectArticle(Long id, AuthorizeReqDto dto) {
-        Article article = articlesRepository.findById(id)
+        Article article = articlesRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Article not found"));
 
         // FE harus kirim auth_code = "R"
@@ -336,12 +618,18 @@ public class ArticleServiceImpl implements ArticleService {
                     "Invalid request: auth_code must be 'R' for rejection");
         }
 
+        onArticleChanged(article.getSlug());
+
         // kalau ada pending thumbnail → hapus
         if (article.getThumbnailUrlPending() != null) {
             deleteThumbnail(article.getThumbnailUrlPending());
             article.setThumbnailUrlPending(null);
+            article.setThumbnailRenditionsPending(null);
         }
 
+        searchIndex.removeAfterCommit(article.getId());
+        relatedIndex.removeAfterCommit(article.getId());
+
         article.setAuthCode("R"); // Rejected
         article.setActionCode(dto.getActionCode());
         article.setUpdatedBy(SecurityContextHolder.getContext().getAuthentication().getName());
@@ -351,61 +639,148 @@ public class ArticleServiceImpl implements ArticleService {
         return mapToResponse(saved);
     }
 
-    // ---------------- Helper Methods ----------------
-    private void validateFile(MultipartFile file) {
-        if (file.getSize() > MAX_SIZE) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Maximum thumbnail size 2 MB");
+    // ---------------- BULK MODERATION ----------------
+    @Transactional
+    @Override
+    public BulkModerationResultDto moderateArticles(BulkModerationReqDto dto) {
+        String authCode = dto.getAuthCode().toUpperCase();
+        if (!"A".equals(authCode) && !"R".equals(authCode)) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                    "Invalid request: auth_code must be 'A' or 'R'");
         }
 
-        String originalFileName = file.getOriginalFilename();
-        if (originalFileName == null || !originalFileName.contains(".")) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Invalid file format");
-        }
+        List<Long> ids = dto.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, ArticlesRepository.ModerationRow> rows = articlesRepository.findModerationRowsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(ArticlesRepository.ModerationRow::getId, row -> row));
+
+        List<Long> toApprove = new ArrayList<>();
+        List<Long> toDelete = new ArrayList<>();
+        List<Long> toReject = new ArrayList<>();
+        List<String> filesToDelete = new ArrayList<>();
+        List<BulkModerationItemDto> results = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            ArticlesRepository.ModerationRow row = rows.get(id);
+            if (row == null) {
+                results.add(new BulkModerationItemDto(id, "FAILED", "Article not found"));
+                continue;
+            }
+            if (!"P".equalsIgnoreCase(row.getAuthCode())) {
+                results.add(new BulkModerationItemDto(id, "FAILED", "Article is not pending authorization"));
+                continue;
+            }
 
-        String ext = originalFileName.substring(originalFileName.lastIndexOf(".") + 1).toLowerCase();
-        if (!ALLOWED_TYPES.containsKey(ext)) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
-                    "Invalid file format. Just can : " + String.join(", ", ALLOWED_TYPES.keySet()));
+            if ("R".equals(authCode)) {
+                toReject.add(id);
+                addIfPresent(filesToDelete, row.getThumbnailUrlPending());
+                results.add(new BulkModerationItemDto(id, "REJECTED", null));
+            } else {
+                switch (row.getActionCode()) {
+                    case "A", "E" -> {
+                        toApprove.add(id);
+                        // thumbnail approve lama diganti thumbnail pending
+                        if (row.getThumbnailUrlPending() != null) {
+                            addIfPresent(filesToDelete, row.getThumbnailUrlApprove());
+                        }
+                        results.add(new BulkModerationItemDto(id, "APPROVED", null));
+                    }
+                    case "D" -> {
+                        toDelete.add(id);
+                        addIfPresent(filesToDelete, row.getThumbnailUrlPending());
+                        addIfPresent(filesToDelete, row.getThumbnailUrlApprove());
+                        results.add(new BulkModerationItemDto(id, "DELETED", null));
+                    }
+                    default -> {
+                        results.add(new BulkModerationItemDto(id, "FAILED",
+                                "Invalid action_code for approval: " + row.getActionCode()));
+                        continue;
+                    }
+                }
+            }
+            articleSlugCache.invalidate(row.getSlug());
         }
 
-        String mimeType = file.getContentType();
-        if (mimeType == null || !mimeType.equalsIgnoreCase(ALLOWED_TYPES.get(ext))) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
-                    "MIME type does not match file extension (" + ext + ")");
+        // satu statement per jenis aksi, bukan satu transaksi per artikel
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        LocalDateTime now = LocalDateTime.now();
+        if (!toApprove.isEmpty()) {
+            articlesRepository.approvePending(toApprove, username, now);
+        }
+        if (!toReject.isEmpty()) {
+            articlesRepository.rejectPending(toReject, dto.getActionCode(), username, now);
+        }
+        if (!toDelete.isEmpty()) {
+            commentRepository.deleteAllByArticleIds(toDelete);
+            articlesRepository.deleteTagLinksByArticleIds(toDelete);
+            articlesRepository.deleteAllByIdInBatch(toDelete);
         }
-    }
 
-    private String saveFile(MultipartFile file, String slugSeed) {
-        try {
-            Path uploadPath = Paths.get(thumbnailDir).toAbsolutePath();
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+        // index pencarian & related: artikel approved di-load sekali (satu query) untuk snapshot
+        if (!toApprove.isEmpty()) {
+            for (Article article : articlesRepository.findAllWithDetailsByIdIn(toApprove)) {
+                searchIndex.indexAfterCommit(article);
+                relatedIndex.putAfterCommit(article);
             }
+        }
+        for (Long id : toReject) {
+            searchIndex.removeAfterCommit(id);
+            relatedIndex.removeAfterCommit(id);
+        }
+        for (Long id : toDelete) {
+            searchIndex.removeAfterCommit(id);
+            relatedIndex.removeAfterCommit(id);
+            trendingTracker.remove(id);
+        }
 
-            String originalFileName = Objects.requireNonNull(file.getOriginalFilename());
-            String extWithDot = originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase();
-            String safeSeed = (slugSeed == null || slugSeed.isBlank()) ? "article" : slugSeed;
-            String fileName = safeSeed + "_" + System.currentTimeMillis() + extWithDot;
+        if (!toApprove.isEmpty() || !toReject.isEmpty() || !toDelete.isEmpty()) {
+            publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_ARTICLES);
+        }
+        filesToDelete.forEach(this::deleteThumbnail);
+
+        int failed = (int) results.stream().filter(item -> "FAILED".equals(item.getOutcome())).count();
+        return new BulkModerationResultDto(results.size() - failed, failed, results);
+    }
+
+    private static void addIfPresent(List<String> paths, String path) {
+        if (path != null) {
+            paths.add(path);
+        }
+    }
 
-            Path filePath = uploadPath.resolve(fileName);
-            file.transferTo(filePath.toFile());
+    // ---------------- Helper Methods ----------------
 
-            return "/uploads/photos/thumbnails/" + fileName;
+    // thumbnail multipart ditulis ke BlobStore sebelum transaksi; null kalau tidak ada
+    private UploadStorage.StagedUpload stageThumbnail(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        try {
+            // format dicek dari isi file (magic bytes) dan ukuran dibatasi selama stream ditulis
+            // disimpan sebagai <sha256>.<ext>; upload dengan isi yang sama memakai file yang sudah ada
+            try (UploadInspector.InspectedUpload upload = uploadInspector.inspect(file, MAX_SIZE, "thumbnail")) {
+                return uploadStorage.stage(upload, UploadStorage.THUMBNAILS);
+            }
         } catch (IOException e) {
             throw new GlobalAPIException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Failed to save thumbnail: " + e.getMessage());
         }
     }
 
-    private void deleteThumbnail(String filePath) {
-        if (filePath == null) return;
-        try {
-            String fileName = Paths.get(filePath).getFileName().toString();
-            Path existingFilePath = Paths.get(thumbnailDir).toAbsolutePath().resolve(fileName);
-            Files.deleteIfExists(existingFilePath);
-        } catch (IOException e) {
-            log.warn("Failed to delete thumbnail file: {}", filePath, e);
+    // di dalam transaksi: thumbnail yang sudah di-stage, atau dari upload bertahap yang sudah complete (thumbnail_upload_id)
+    private String attachThumbnail(UploadStorage.StagedUpload staged, String uploadId) {
+        if (staged != null) {
+            return uploadStorage.attach(staged);
+        }
+        if (uploadId != null && !uploadId.isBlank()) {
+            return uploadSessionService.consumeUpload(uploadId, UploadSession.Kind.THUMBNAIL);
         }
+        return null;
+    }
+
+    // lepas referensi; file (dan rendition-nya) baru dihapus setelah commit kalau tidak dipakai artikel lain
+    private void deleteThumbnail(String filePath) {
+        uploadStorage.release(filePath, () -> renditionGenerator.deleteRenditions(filePath));
     }
 
     private String generateSlug(String title) {
@@ -414,41 +789,111 @@ public class ArticleServiceImpl implements ArticleService {
                 .replaceAll("^-|-$", "");
     }
 
-    private ArticleDto mapToResponse(Article article) {
-        ArticleDto dto = modelMapper.map(article, ArticleDto.class);
-        dto.setAuthorId(article.getAuthor().getId());
-        dto.setAuthorName(article.getAuthor().getFullName());
-        dto.setCategoryId(article.getCategory().getId());
-        dto.setCategoryName(article.getCategory().getName());
-
-        dto.setThumbnailUrlPending(article.getThumbnailUrlPending());
-        dto.setThumbnailUrlApprove(article.getThumbnailUrlApprove());
-
-        if (article.getTags() != null && !article.getTags().isEmpty()) {
-            dto.setTagIds(article.getTags().stream().map(Tag::getId).toList());
-            dto.setTagNames(article.getTags().stream().map(Tag::getName).toList());
-        } else {
-            dto.setTagIds(Collections.emptyList());
-            dto.setTagNames(Collections.emptyList());
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_PAGE_LIMIT);
         }
+        return limit;
+    }
+
+    private CursorPageDto<ArticleSummaryDto> toPage(List<ArticleSummaryDto> articles, int pageLimit) {
+        boolean hasNext = articles.size() > pageLimit;
+        List<ArticleSummaryDto> items = hasNext ? articles.subList(0, pageLimit) : articles;
+
+        ArticleSummaryDto last = hasNext ? items.get(items.size() - 1) : null;
+        String next = last != null ? encodeCursor(last.getCreatedAt(), last.getId()) : null;
+        return new CursorPageDto<>(items, next, pageLimit);
+    }
+
+    // cursor = base64url("created_at|id") dari baris terakhir di halaman
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    // views di-increment lewat ArticleViewCounter (write-behind), bukan save entity
+    private ArticleDto mapToResponseWithView(Article article) {
+        viewCounter.increment(article.getId());
+        if ("A".equalsIgnoreCase(article.getAuthCode())) {
+            trendingTracker.recordView(article.getId(),
+                    article.getCategory() != null ? article.getCategory().getId() : null);
+        }
+
+        ArticleDto dto = mapToResponse(article);
+        long views = article.getViews() == null ? 0L : article.getViews();
+        dto.setViews(views + viewCounter.pendingViews(article.getId()));
         return dto;
     }
 
+    private ArticleDto mapToResponse(Article article) {
+        return articleMapper.toDto(article);
+    }
+
     /**
      * Cron job jalan tiap malam jam 00:00
      * Hapus artikel dengan auth_code = 'R' lebih dari 3 hari,
      * termasuk file thumbnail pending/approve.
+     * Dikerjakan per chunk: tiap chunk satu transaksi pendek (bulk delete),
+     * file baru dihapus setelah chunk tersebut commit.
      */
     @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
     public void deleteExpiredRejectedArticles() {
         var threeDaysAgo = java.time.LocalDateTime.now().minusDays(3);
-        var expiredArticles = articlesRepository.findByAuthCodeAndCreatedAtBefore("R", threeDaysAgo);
+        long afterId = 0L;
+        int deleted = 0;
+
+        while (true) {
+            // hanya id, slug & path thumbnail, bukan entity lengkap
+            List<ArticlesRepository.ModerationRow> page = articlesRepository.findPageByAuthCodeAndCreatedAtBefore(
+                    "R", threeDaysAgo, afterId, Limit.of(CLEANUP_CHUNK_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+
+            List<Long> ids = page.stream().map(ArticlesRepository.ModerationRow::getId).toList();
+            List<Long> deletedIds = transactionTemplate.execute(status -> {
+                // cek ulang di dalam transaksi, lewati yang statusnya sudah berubah
+                List<Long> stillRejected = articlesRepository.findIdsByIdInAndAuthCode(ids, "R");
+                if (!stillRejected.isEmpty()) {
+                    commentRepository.deleteAllByArticleIds(stillRejected);
+                    articlesRepository.deleteTagLinksByArticleIds(stillRejected);
+                    articlesRepository.deleteAllByIdInBatch(stillRejected);
+                }
+                // referensi thumbnail dilepas di transaksi yang sama, file dihapus setelah chunk commit
+                Set<Long> deletedSet = new HashSet<>(stillRejected);
+                for (ArticlesRepository.ModerationRow row : page) {
+                    if (deletedSet.contains(row.getId())) {
+                        deleteThumbnail(row.getThumbnailUrlPending());
+                        deleteThumbnail(row.getThumbnailUrlApprove());
+                        articleSlugCache.invalidate(row.getSlug());
+                    }
+                }
+                return stillRejected;
+            });
+            deleted += deletedIds.size();
+        }
 
-        for (Article article : expiredArticles) {
-            deleteThumbnail(article.getThumbnailUrlPending());
-            deleteThumbnail(article.getThumbnailUrlApprove());
-            articlesRepository.delete(article);
+        if (deleted > 0) {
+            log.info("Deleted {} expired rejected articles", deleted);
         }
     }
 }
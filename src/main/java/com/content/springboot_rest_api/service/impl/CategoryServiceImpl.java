@@ -1,11 +1,13 @@
 package com.content.springboot_rest_api.service.impl;
 
-import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
 import com.content.springboot_rest_api.dto.CategoryDto;
 import com.content.springboot_rest_api.dto.CategoryDtoTmp;
 import com.content.springboot_rest_api.entity.*;
 import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.mapper.CategoryMapper;
 import com.content.springboot_rest_api.repository.ArticlesRepository;
 import com.content.springboot_rest_api.repository.CategoryRepository;
 import com.content.springboot_rest_api.repository.CategoryTmpRepository;
@@ -13,7 +15,6 @@ import com.content.springboot_rest_api.repository.UserRepository;
 import com.content.springboot_rest_api.service.CategoryService;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,12 +32,13 @@ public class CategoryServiceImpl implements CategoryService {
     private CategoryTmpRepository categoryTmpRepository;
     private ArticlesRepository articlesRepository;
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
+    private CategoryMapper categoryMapper;
+    private PublicResponseCache publicResponseCache;
 
     @Override
     public CategoryDtoTmp addCategory(CategoryDtoTmp categoryDtoTmp) {
-        // Mapping otomatis dari DTO ke Entity TMP
-        CategoryTmp categoryTmp = modelMapper.map(categoryDtoTmp, CategoryTmp.class);
+        // Mapping dari DTO ke Entity TMP
+        CategoryTmp categoryTmp = categoryMapper.toTmpEntity(categoryDtoTmp);
 
         // Generate slug
         String slug = categoryDtoTmp.getName()
@@ -64,7 +66,7 @@ public class CategoryServiceImpl implements CategoryService {
         CategoryTmp savedTmp = categoryTmpRepository.save(categoryTmp);
 
         // Mapping balik ke DTO response
-        return modelMapper.map(savedTmp, CategoryDtoTmp.class);
+        return categoryMapper.toTmpDto(savedTmp);
     }
 
     @Override
@@ -116,7 +118,7 @@ public class CategoryServiceImpl implements CategoryService {
 
                     // Jika rejected → tampilkan versi main
                 } else if ("R".equals(tmp.getAuthCode())) {
-                    result.add(convertToDtoFromMain(category));
+                    result.add(categoryMapper.toDto(category));
 
                     // Jika approved → tetap tampilkan main tapi isi auth/action dari tmp
                 } else if ("A".equals(tmp.getAuthCode())) {
@@ -124,12 +126,12 @@ public class CategoryServiceImpl implements CategoryService {
 
                     // Default
                 } else {
-                    result.add(convertToDtoFromMain(category));
+                    result.add(categoryMapper.toDto(category));
                 }
 
             } else {
                 // Tidak ada versi tmp → tampilkan main
-                result.add(convertToDtoFromMain(category));
+                result.add(categoryMapper.toDto(category));
             }
         }
 
@@ -148,21 +150,6 @@ public class CategoryServiceImpl implements CategoryService {
         return result;
     }
 
-    // 🔹 Jika hanya ada Category (tanpa tmp)
-    private CategoryDto convertToDtoFromMain(Category category) {
-        CategoryDto dto = new CategoryDto();
-        dto.setId(category.getId());
-        dto.setName(category.getName());
-        dto.setSlug(category.getSlug());
-        dto.setAuthCode(null);
-        dto.setActionCode(null);
-        dto.setCreatedBy(category.getCreatedBy());
-        dto.setUpdatedBy(category.getUpdatedBy());
-        dto.setCreatedAt(category.getCreatedAt());
-        dto.setUpdatedAt(category.getUpdatedAt());
-        return dto;
-    }
-
     // 🔹 Jika hanya ada CategoryTmp (kategori baru)
     private CategoryDto convertToDtoFromTmp(CategoryTmp tmp) {
         CategoryDto dto = new CategoryDto();
@@ -198,7 +185,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() ->  new GlobalAPIException(HttpStatus.NOT_FOUND,
                         "Category not found with id : " + id));
-        return modelMapper.map(category, CategoryDto.class);
+        return categoryMapper.toDto(category);
     }
 
     @Override
@@ -237,7 +224,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         // Simpan ke tabel TMP (bukan langsung ubah Category utama)
-        CategoryTmp tmp = modelMapper.map(categoryDtoTmp, CategoryTmp.class);
+        CategoryTmp tmp = categoryMapper.toTmpEntity(categoryDtoTmp);
         tmp.setIdCategory(category.getId());
         tmp.setSlug(slug);
         tmp.setAuthCode("P");
@@ -249,7 +236,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         CategoryTmp savedTmp = categoryTmpRepository.save(tmp);
 
-        return modelMapper.map(savedTmp, CategoryDtoTmp.class);
+        return categoryMapper.toTmpDto(savedTmp);
     }
 
 
@@ -280,8 +267,8 @@ public class CategoryServiceImpl implements CategoryService {
                     "You cannot delete other users' data");
         }
 
-        //  Mapping otomatis dari Category ke CategoryTmp menggunakan ModelMapper
-        CategoryTmp categoryTmp = modelMapper.map(category, CategoryTmp.class);
+        //  Snapshot Category ke CategoryTmp
+        CategoryTmp categoryTmp = categoryMapper.toTmpEntity(category);
 
         //  Tambahkan metadata action
         categoryTmp.setIdCategory(category.getId());
@@ -298,14 +285,14 @@ public class CategoryServiceImpl implements CategoryService {
 
 
     @Override
-    public List<ArticleDto> getArticlesByCategorySlug(String slug) {
+    public List<ArticleSummaryDto> getArticlesByCategorySlug(String slug) {
         Category category = categoryRepository.findBySlug(slug)
                 .orElseThrow(() -> new GlobalAPIException(
                         HttpStatus.NOT_FOUND,
                         "Category not found with slug : " + slug
                 ));
 
-        List<Article> articles = articlesRepository.findByCategory(category);
+        List<ArticleSummaryDto> articles = articlesRepository.findSummariesByCategoryId(category.getId());
 
         if (articles.isEmpty()) {
             throw new GlobalAPIException(
@@ -314,9 +301,7 @@ public class CategoryServiceImpl implements CategoryService {
             );
         }
 
-        return articles.stream()
-                .map(article -> modelMapper.map(article, ArticleDto.class))
-                .collect(Collectors.toList());
+        return articles;
     }
 
     @Override
@@ -331,6 +316,10 @@ public class CategoryServiceImpl implements CategoryService {
 
         String authCode = req.getAuthCode();
         if ("A".equalsIgnoreCase(authCode)) {
+            // list publik kategori (dan nama kategori di feed artikel) ikut berubah
+            publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_CATEGORIES);
+            publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_ARTICLES);
+
             // Approve
             tmp.setAuthCode("A");
             tmp.setUpdatedBy(username);
@@ -361,7 +350,7 @@ public class CategoryServiceImpl implements CategoryService {
                 tmp.setIdCategory(saved.getId());
                 CategoryTmp tmp1 =  categoryTmpRepository.save(tmp);
 
-                return modelMapper.map(tmp1, CategoryDtoTmp.class);
+                return categoryMapper.toTmpDto(tmp1);
             }
 
             // EDIT
@@ -384,7 +373,7 @@ public class CategoryServiceImpl implements CategoryService {
                 Category updated = categoryRepository.save(existing);
 
                 // catatan: kita menyimpan status approve di tmp (sudah dilakukan di atas)
-                return modelMapper.map(tmp, CategoryDtoTmp.class);
+                return categoryMapper.toTmpDto(tmp);
             }
 
             // DELETE
@@ -412,7 +401,7 @@ public class CategoryServiceImpl implements CategoryService {
             tmp.setUpdatedAt(java.time.LocalDateTime.now());
             CategoryTmp rejected = categoryTmpRepository.save(tmp);
 
-            return modelMapper.map(rejected, CategoryDtoTmp.class);
+            return categoryMapper.toTmpDto(rejected);
         }
 
         else {
@@ -436,7 +425,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         return categories.stream()
-                .map(category -> modelMapper.map(category, CategoryDto.class))
+                .map(category -> categoryMapper.toDto(category))
                 .collect(Collectors.toList());
     }
 
@@ -447,7 +436,17 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND,
                         "Category not found with slug : " + slug));
 
-        return modelMapper.map(category, CategoryDto.class);
+        return categoryMapper.toDto(category);
+    }
+
+    @Override
+    public Optional<LocalDateTime> getCategoryLastModified(Long id) {
+        return categoryRepository.findLastModifiedById(id);
+    }
+
+    @Override
+    public Optional<LocalDateTime> getCategoryLastModifiedBySlug(String slug) {
+        return categoryRepository.findLastModifiedBySlug(slug);
     }
 
     @Override
@@ -459,9 +458,8 @@ public class CategoryServiceImpl implements CategoryService {
             throw new GlobalAPIException(HttpStatus.NOT_FOUND, "No approved categories found.");
         }
 
-        // Mapping menggunakan ModelMapper
         return categories.stream()
-                .map(category -> modelMapper.map(category, CategoryDto.class))
+                .map(category -> categoryMapper.toDto(category))
                 .sorted(Comparator.comparing(CategoryDto::getCreatedAt).reversed())
                 .collect(Collectors.toList());
     }
@@ -486,7 +484,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Mapping ke DTO
         return tmpList.stream()
-                .map(tmp -> modelMapper.map(tmp, CategoryDtoTmp.class))
+                .map(tmp -> categoryMapper.toTmpDto(tmp))
                 .toList();
     }
 
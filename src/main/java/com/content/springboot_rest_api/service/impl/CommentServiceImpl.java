@@ -5,13 +5,13 @@ import com.content.springboot_rest_api.entity.Article;
 import com.content.springboot_rest_api.entity.Comment;
 import com.content.springboot_rest_api.entity.User;
 import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.mapper.CommentMapper;
 import com.content.springboot_rest_api.repository.ArticlesRepository;
 import com.content.springboot_rest_api.repository.CommentRepository;
 import com.content.springboot_rest_api.repository.UserRepository;
 import com.content.springboot_rest_api.service.CommentService;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -29,7 +29,7 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final ArticlesRepository articlesRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final CommentMapper commentMapper;
 
     @Transactional
     @Override
@@ -63,7 +63,7 @@ public class CommentServiceImpl implements CommentService {
         Comment saved = commentRepository.save(comment);
 
         // mapping entity -> DTO
-        CommentDto response = modelMapper.map(saved, CommentDto.class);
+        CommentDto response = commentMapper.toDto(saved);
         response.setArticleId(article.getId());
         response.setUserId(user.getId());
         response.setName(user.getFullName());
@@ -78,7 +78,7 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Comment not found"));
 
-        CommentDto dto = modelMapper.map(comment, CommentDto.class);
+        CommentDto dto = commentMapper.toDto(comment);
         dto.setArticleId(comment.getArticle() != null ? comment.getArticle().getId() : null);
         dto.setUserId(comment.getUser() != null ? comment.getUser().getId() : null);
         return dto;
@@ -93,7 +93,7 @@ public class CommentServiceImpl implements CommentService {
 
         return commentRepository.findByArticleId(articleId).stream()
                 .map(comment -> {
-                    CommentDto dto = modelMapper.map(comment, CommentDto.class);
+                    CommentDto dto = commentMapper.toDto(comment);
                     dto.setArticleId(comment.getArticle() != null ? comment.getArticle().getId() : null);
                     dto.setUserId(comment.getUser() != null ? comment.getUser().getId() : null);
                     return dto;
@@ -128,7 +128,7 @@ public class CommentServiceImpl implements CommentService {
 
         Comment updated = commentRepository.save(comment);
 
-        CommentDto dto = modelMapper.map(updated, CommentDto.class);
+        CommentDto dto = commentMapper.toDto(updated);
         dto.setArticleId(updated.getArticle() != null ? updated.getArticle().getId() : null);
         dto.setUserId(updated.getUser() != null ? updated.getUser().getId() : null);
         dto.setUpdatedAt(comment.getUpdatedAt());
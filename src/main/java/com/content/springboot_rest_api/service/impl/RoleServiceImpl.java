@@ -9,9 +9,9 @@ import com.content.springboot_rest_api.repository.RoleRepository;
 import com.content.springboot_rest_api.repository.UserRepository;
 import com.content.springboot_rest_api.service.RoleService;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Set;
@@ -23,8 +23,8 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
 
+    // role.users LAZY: dipanggil hanya di dalam transaksi (open-in-view mati)
     private RoleDto convertToDto(Role role) {
         RoleDto dto = new RoleDto();
         dto.setId(role.getId());
@@ -45,6 +45,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public RoleDto createRole(RoleDto roleDto) {
         Role role = new Role();
         role.setName(roleDto.getName());
@@ -53,6 +54,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public RoleDto updateRole(Long id, RoleDto roleDto) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Role not found"));
@@ -64,6 +66,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public void deleteRole(Long id) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Role not found"));
@@ -71,6 +74,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoleDto getRoleById(Long id) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Role not found"));
@@ -78,14 +82,17 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoleDto> getAllRoles() {
-        return roleRepository.findAll()
+        // users ikut di-fetch dalam satu query, bukan satu query per role
+        return roleRepository.findAllWithUsersBy()
                 .stream()
                 .map(this::convertToDto)
                 .toList();
     }
 
     @Override
+    @Transactional
     public void assignRoleToUser(Long userId, Long roleId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "User not found"));
@@ -97,6 +104,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public void removeRoleFromUser(Long userId, Long roleId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "User not found"));
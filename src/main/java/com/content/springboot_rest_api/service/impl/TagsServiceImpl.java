@@ -1,11 +1,13 @@
 package com.content.springboot_rest_api.service.impl;
 
-import com.content.springboot_rest_api.dto.ArticleDto;
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
 import com.content.springboot_rest_api.dto.AuthorizeReqDto;
 import com.content.springboot_rest_api.dto.TagDto;
 import com.content.springboot_rest_api.dto.TagDtoTmp;
 import com.content.springboot_rest_api.entity.*;
 import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.mapper.TagMapper;
 import com.content.springboot_rest_api.repository.ArticlesRepository;
 import com.content.springboot_rest_api.repository.TagRepository;
 import com.content.springboot_rest_api.repository.TagTmpRepository;
@@ -13,12 +15,12 @@ import com.content.springboot_rest_api.repository.UserRepository;
 import com.content.springboot_rest_api.service.TagService;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,9 +29,11 @@ import java.util.stream.Collectors;
 public class TagsServiceImpl implements TagService {
 
     private TagRepository tagRepository;
+    private ArticlesRepository articlesRepository;
     private UserRepository userRepository;
     private TagTmpRepository tagTmpRepository;
-    private ModelMapper modelMapper;
+    private TagMapper tagMapper;
+    private PublicResponseCache publicResponseCache;
 
     @Override
     public TagDtoTmp createTags(TagDto tagDto) {
@@ -54,7 +58,7 @@ public class TagsServiceImpl implements TagService {
         tmp.setActionCode("A"); // Add
 
         TagTmp saved = tagTmpRepository.save(tmp);
-        return convertToTmpDto(saved);
+        return tagMapper.toTmpDto(saved);
     }
 
     @Override
@@ -104,7 +108,7 @@ public class TagsServiceImpl implements TagService {
                     if (tmp.getIdTag() == null) {
                         result.add(convertToDtoFromTmpWithCodes(tmp));
                     } else {
-                        TagDto dto = convertToDtoFromMain(tag);
+                        TagDto dto = tagMapper.toDto(tag);
                         dto.setAuthCode(tmp.getAuthCode());
                         dto.setActionCode(tmp.getActionCode());
                         result.add(dto);
@@ -112,14 +116,14 @@ public class TagsServiceImpl implements TagService {
 
                 } else {
                     // Approved → tampilkan dari main
-                    TagDto dto = convertToDtoFromMain(tag);
+                    TagDto dto = tagMapper.toDto(tag);
                     dto.setAuthCode(tmp.getAuthCode());
                     dto.setActionCode(tmp.getActionCode());
                     result.add(dto);
                 }
             } else {
                 // Tidak ada versi tmp → tampilkan main (auth/action null)
-                result.add(convertToDtoFromMain(tag));
+                result.add(tagMapper.toDto(tag));
             }
         }
 
@@ -140,7 +144,7 @@ public class TagsServiceImpl implements TagService {
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND,
                         "Tags not found with id : " + id));
 
-        return modelMapper.map(tag, TagDto.class);
+        return tagMapper.toDto(tag);
     }
 
     @Override
@@ -183,7 +187,7 @@ public class TagsServiceImpl implements TagService {
         tmp.setActionCode("E");
 
         TagTmp saved = tagTmpRepository.save(tmp);
-        return convertToTmpDto(saved);
+        return tagMapper.toTmpDto(saved);
     }
 
     @Override
@@ -220,19 +224,17 @@ public class TagsServiceImpl implements TagService {
     }
 
     @Override
-    public List<ArticleDto> getArticlesByTagSlug(String slug) {
+    public List<ArticleSummaryDto> getArticlesByTagSlug(String slug) {
         Tag tag = tagRepository.findBySlug(slug)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Tag not found with slug : " + slug));
 
-        Set<Article> articles = tag.getArticles();
+        List<ArticleSummaryDto> articles = articlesRepository.findSummariesByTagId(tag.getId());
 
-        if(articles == null || articles.isEmpty()) {
+        if(articles.isEmpty()) {
             throw new GlobalAPIException(HttpStatus.NOT_FOUND, "No articles found for tag : " + slug);
         }
 
-        return articles.stream()
-                .map(article -> modelMapper.map(article, ArticleDto.class))
-                .collect(Collectors.toList());
+        return articles;
     }
 
     @Override
@@ -245,6 +247,8 @@ public class TagsServiceImpl implements TagService {
         String actionCode = req.getActionCode();
 
         if ("A".equalsIgnoreCase(authCode)) {
+            publicResponseCache.refreshAfterCommit(PublicResponseCache.APPROVED_TAGS);
+
             switch (actionCode) {
                 case "D" -> {
                     tagRepository.deleteById(tmp.getIdTag());
@@ -296,7 +300,7 @@ public class TagsServiceImpl implements TagService {
         }
 
         return tags.stream()
-                .map(tag -> modelMapper.map(tag, TagDto.class))
+                .map(tag -> tagMapper.toDto(tag))
                 .toList();
     }
 
@@ -317,7 +321,7 @@ public class TagsServiceImpl implements TagService {
         }
 
         return tmpList.stream()
-                .map(this::convertToTmpDto)
+                .map(tagMapper::toTmpDto)
                 .toList();
     }
 
@@ -334,7 +338,7 @@ public class TagsServiceImpl implements TagService {
         }
 
         return tags.stream()
-                .map(tag -> modelMapper.map(tag, TagDto.class))
+                .map(tag -> tagMapper.toDto(tag))
                 .collect(Collectors.toList());
     }
 
@@ -344,24 +348,22 @@ public class TagsServiceImpl implements TagService {
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND,
                         "Tag not found with slug : " + slug));
 
-        return modelMapper.map(tag, TagDto.class);
+        return tagMapper.toDto(tag);
+    }
+
+    @Override
+    public Optional<LocalDateTime> getTagLastModified(Long id) {
+        return tagRepository.findLastModifiedById(id);
+    }
+
+    @Override
+    public Optional<LocalDateTime> getTagLastModifiedBySlug(String slug) {
+        return tagRepository.findLastModifiedBySlug(slug);
     }
 
     // ==============================================
     // HELPER MAPPER METHODS
     // ==============================================
-    private TagDto convertToDtoFromMain(Tag tag) {
-        TagDto dto = new TagDto();
-        dto.setId(tag.getId());
-        dto.setName(tag.getName());
-        dto.setSlug(tag.getSlug());
-        dto.setCreatedBy(tag.getCreatedBy());
-        dto.setUpdatedBy(tag.getUpdatedBy());
-        dto.setCreatedAt(tag.getCreatedAt());
-        dto.setUpdatedAt(tag.getUpdatedAt());
-        return dto;
-    }
-
     private TagDto convertToDtoFromTmp(TagTmp tmp) {
         TagDto dto = new TagDto();
         dto.setId(tmp.getIdTag());
@@ -374,21 +376,6 @@ public class TagsServiceImpl implements TagService {
         return dto;
     }
 
-    private TagDtoTmp convertToTmpDto(TagTmp tmp) {
-        TagDtoTmp dto = new TagDtoTmp();
-        dto.setIdTmp(tmp.getIdTmp());
-        dto.setIdTag(tmp.getIdTag());
-        dto.setName(tmp.getName());
-        dto.setSlug(tmp.getSlug());
-        dto.setAuthCode(tmp.getAuthCode());
-        dto.setActionCode(tmp.getActionCode());
-        dto.setCreatedBy(tmp.getCreatedBy());
-        dto.setUpdatedBy(tmp.getUpdatedBy());
-        dto.setCreatedAt(tmp.getCreatedAt());
-        dto.setUpdatedAt(tmp.getUpdatedAt());
-        return dto;
-    }
-
     private TagDto convertToDtoFromTmpWithCodes(TagTmp tmp) {
         TagDto dto = new TagDto();
         dto.setId(tmp.getIdTag());
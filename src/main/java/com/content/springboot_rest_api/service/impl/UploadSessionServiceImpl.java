@@ -0,0 +1,387 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.dto.UploadSessionDto;
+import com.content.springboot_rest_api.dto.UploadSessionReqDto;
+import com.content.springboot_rest_api.entity.UploadSession;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.repository.UploadSessionRepository;
+import com.content.springboot_rest_api.service.UploadSessionService;
+import com.content.springboot_rest_api.storage.UploadInspector;
+import com.content.springboot_rest_api.storage.UploadStorage;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Upload bertahap: create -> PUT potongan (Content-Range) -> complete -> dipakai artikel / user lewat upload_id.
+ * - potongan ditulis langsung ke "<id>.part" lewat FileChannel di posisinya, tanpa buffer seluruh file
+ * - potongan yang terputus di tengah tetap tersimpan sampai byte terakhir yang diterima,
+ *   client cukup GET sesi untuk tahu offset lalu lanjut dari situ
+ * - satu potongan per sesi pada satu waktu (lock file .part), koneksi DB hanya dipakai untuk update offset
+ * - file .part ada di disk lokal instance yang menerima potongan, bukan di BlobStore: dengan beberapa instance,
+ *   semua request satu sesi harus diarahkan ke instance yang sama (sticky per upload_id). Instance tanpa
+ *   file .part-nya menganggap offset dari isi file lokal, jadi tidak pernah men-stage file yang bolong.
+ * - sesi anonim (foto profil sebelum register) dibatasi per IP: jumlah sesi & total ukuran yang dipesan,
+ *   sampai sesinya dipakai register atau kedaluwarsa
+ */
+@Service
+@Slf4j
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    // sama dengan batas upload multipart thumbnail & foto profil
+    private static final long MAX_SIZE = 2 * 1024 * 1024; // 2MB
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CLEANUP_BATCH_SIZE = 100;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+)");
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadStorage uploadStorage;
+    private final UploadInspector uploadInspector;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int maxAnonymousSessions;
+    private final long maxAnonymousBytes;
+    // cek kuota + insert sesi anonim tidak boleh diselingi request lain di instance ini
+    private final Object anonymousQuotaLock = new Object();
+
+    @Value("${app.upload.session-dir}")
+    private String sessionDir;
+
+    public UploadSessionServiceImpl(UploadSessionRepository sessionRepository,
+                                    UploadStorage uploadStorage,
+                                    UploadInspector uploadInspector,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.upload.session.ttl-hours:24}") long ttlHours,
+                                    @Value("${app.upload.anonymous.max-sessions-per-ip:5}") int maxAnonymousSessions,
+                                    @Value("${app.upload.anonymous.max-bytes-per-ip:10485760}") long maxAnonymousBytes) {
+        this.sessionRepository = sessionRepository;
+        this.uploadStorage = uploadStorage;
+        this.uploadInspector = uploadInspector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxAnonymousSessions = maxAnonymousSessions;
+        this.maxAnonymousBytes = maxAnonymousBytes;
+    }
+
+    @Override
+    public UploadSessionDto createSession(UploadSessionReqDto dto, String clientIp) {
+        UploadSession.Kind kind = parseKind(dto.getKind());
+        String username = currentUsername();
+        // foto profil boleh diupload sebelum register, thumbnail hanya untuk user login
+        if (kind == UploadSession.Kind.THUMBNAIL && username == null) {
+            throw new GlobalAPIException(HttpStatus.UNAUTHORIZED, "Login required to upload thumbnails");
+        }
+        if (dto.getSize() > MAX_SIZE) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Maximum " + label(kind) + " size 2 MB");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setKind(kind);
+        session.setStatus(UploadSession.Status.OPEN);
+        session.setOwner(username);
+        session.setFileName(dto.getFileName());
+        session.setContentType(dto.getContentType());
+        session.setTotalSize(dto.getSize());
+        session.setReceivedBytes(0L);
+        session.setCreatedAt(now);
+        session.setExpiresAt(now.plus(ttl));
+        if (username != null) {
+            return toDto(sessionRepository.save(session));
+        }
+
+        // tanpa login: satu IP tidak bisa memenuhi disk / bucket dengan membuka sesi terus-menerus
+        String ip = clientIp == null ? "unknown" : clientIp;
+        session.setClientIp(ip);
+        synchronized (anonymousQuotaLock) {
+            UploadSessionRepository.ClientUsage usage = sessionRepository.findAnonymousUsage(ip, now);
+            if (usage.getSessions() >= maxAnonymousSessions) {
+                throw new GlobalAPIException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many open uploads, finish or wait for existing uploads to expire");
+            }
+            if (usage.getBytes() + dto.getSize() > maxAnonymousBytes) {
+                throw new GlobalAPIException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Upload quota exceeded, finish or wait for existing uploads to expire");
+            }
+            return toDto(sessionRepository.save(session));
+        }
+    }
+
+    @Override
+    public UploadSessionDto getSession(String id) {
+        return toDto(findSession(id));
+    }
+
+    @Override
+    public UploadSessionDto appendChunk(String id, String contentRange, InputStream body) throws IOException {
+        long[] range = parseContentRange(contentRange);
+        UploadSession session = findSession(id);
+        if (session.getStatus() != UploadSession.Status.OPEN) {
+            throw new GlobalAPIException(HttpStatus.CONFLICT, "Upload is already completed");
+        }
+        long start = range[0];
+        long end = range[1];
+        if (range[2] != session.getTotalSize() || end >= session.getTotalSize()) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Content-Range does not match upload size " + session.getTotalSize());
+        }
+
+        Path part = partFile(id);
+        Files.createDirectories(part.getParent());
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            try (FileLock ignored = lock(channel)) {
+                // offset dibaca ulang di bawah lock: potongan sebelumnya mungkin baru selesai;
+                // tidak lebih dari isi .part lokal (sesi yang dilanjutkan di instance lain mulai dari isi file di sini)
+                long recorded = sessionRepository.findById(id).map(UploadSession::getReceivedBytes).orElse(0L);
+                long received = Math.min(channel.size(), recorded);
+                // potongan boleh mengulang byte yang sudah diterima (ack hilang), tapi tidak boleh bolong
+                if (start > received) {
+                    long offset = received;
+                    if (offset < recorded) {
+                        transactionTemplate.executeWithoutResult(status -> sessionRepository.updateReceivedBytes(id, offset));
+                    }
+                    throw new GlobalAPIException(HttpStatus.CONFLICT, "Expected upload offset " + received);
+                }
+
+                // posisi maju per buffer yang sudah tertulis, supaya progress potongan yang putus tidak hilang
+                long position = start;
+                long remaining = end - start + 1;
+                byte[] buffer = new byte[BUFFER_SIZE];
+                try {
+                    while (remaining > 0) {
+                        int read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                        if (read < 0) {
+                            break;
+                        }
+                        ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                        while (chunk.hasRemaining()) {
+                            position += channel.write(chunk, position);
+                        }
+                        remaining -= read;
+                    }
+                } finally {
+                    // yang sudah sampai tetap dicatat, juga kalau koneksi putus di tengah potongan
+                    if (position > received) {
+                        channel.force(false);
+                        received = position;
+                    }
+                    long offset = received;
+                    if (offset != recorded) {
+                        transactionTemplate.executeWithoutResult(status -> sessionRepository.updateReceivedBytes(id, offset));
+                    }
+                }
+                session.setReceivedBytes(received);
+            }
+        }
+        return toDto(session);
+    }
+
+    @Override
+    public UploadSessionDto completeSession(String id) throws IOException {
+        UploadSession session = findSession(id);
+        if (session.getStatus() == UploadSession.Status.FINALIZED) {
+            return toDto(session); // retry setelah response sebelumnya hilang
+        }
+        if (session.getReceivedBytes() < session.getTotalSize()) {
+            throw new GlobalAPIException(HttpStatus.CONFLICT,
+                    "Upload incomplete: " + session.getReceivedBytes() + " of " + session.getTotalSize() + " bytes received");
+        }
+
+        Path part = partFile(id);
+        // .part tertinggal di instance lain (load balancer tidak sticky) atau terpotong
+        long stored = Files.exists(part) ? Files.size(part) : 0;
+        if (stored < session.getTotalSize()) {
+            transactionTemplate.executeWithoutResult(status -> sessionRepository.updateReceivedBytes(id, stored));
+            throw new GlobalAPIException(HttpStatus.CONFLICT,
+                    "Upload incomplete: " + stored + " of " + session.getTotalSize() + " bytes received");
+        }
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE);
+             FileLock ignored = lock(channel)) {
+            // isi dicek sama seperti upload multipart (magic bytes, ekstensi, Content-Type, ukuran)
+            UploadStorage.StagedUpload staged;
+            try (UploadInspector.InspectedUpload upload = uploadInspector.inspect(() -> Files.newInputStream(part),
+                    session.getFileName(), session.getContentType(), session.getTotalSize(), MAX_SIZE, label(session.getKind()))) {
+                staged = uploadStorage.stage(upload, namespace(session.getKind()));
+            }
+
+            // referensi dicatat di transaksi yang sama dengan status sesi
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    UploadSession locked = sessionRepository.findForUpdate(id)
+                            .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Upload session not found or expired"));
+                    String path = uploadStorage.attach(staged);
+                    locked.setStatus(UploadSession.Status.FINALIZED);
+                    locked.setPath(path);
+                    session.setStatus(UploadSession.Status.FINALIZED);
+                    session.setPath(path);
+                });
+            } catch (RuntimeException e) {
+                uploadStorage.discard(staged);
+                throw e;
+            }
+        }
+        Files.deleteIfExists(part);
+        return toDto(session);
+    }
+
+    @Transactional
+    @Override
+    public String consumeUpload(String id, UploadSession.Kind kind) {
+        UploadSession session = sessionRepository.findForUpdate(id)
+                .filter(s -> s.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new GlobalAPIException(HttpStatus.BAD_REQUEST, "Upload not found or expired"));
+        if (session.getKind() != kind) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Upload is not a " + label(kind));
+        }
+        if (session.getOwner() != null && !session.getOwner().equals(currentUsername())) {
+            throw new GlobalAPIException(HttpStatus.FORBIDDEN, "Upload belongs to another user");
+        }
+        if (session.getStatus() != UploadSession.Status.FINALIZED) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Upload is not completed yet");
+        }
+        // referensi file sekarang milik artikel / user; rollback transaksi caller mengembalikan sesinya
+        sessionRepository.delete(session);
+        return session.getPath();
+    }
+
+    /**
+     * Hapus sesi kedaluwarsa: file .part sesi yang belum selesai dihapus,
+     * upload yang sudah selesai tapi tidak pernah dipakai dilepas referensinya.
+     */
+    @Scheduled(fixedDelayString = "${app.upload.session.cleanup-interval-ms:600000}")
+    public void deleteExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UploadSession> expired;
+        do {
+            expired = sessionRepository.findByExpiresAtBeforeOrderByExpiresAtAsc(now, Limit.of(CLEANUP_BATCH_SIZE));
+            for (UploadSession session : expired) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> sessionRepository.findForUpdate(session.getId())
+                            .ifPresent(locked -> {
+                                if (locked.getStatus() == UploadSession.Status.FINALIZED) {
+                                    uploadStorage.release(locked.getPath());
+                                }
+                                sessionRepository.delete(locked);
+                            }));
+                    Files.deleteIfExists(partFile(session.getId()));
+                } catch (RuntimeException | IOException e) {
+                    log.warn("Failed to delete expired upload session {}", session.getId(), e);
+                    return; // dicoba lagi di run berikutnya
+                }
+            }
+        } while (expired.size() == CLEANUP_BATCH_SIZE);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private UploadSession findSession(String id) {
+        UploadSession session = sessionRepository.findById(id)
+                .filter(s -> s.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "Upload session not found or expired"));
+        // sesi user lain diperlakukan seperti tidak ada
+        if (session.getOwner() != null && !session.getOwner().equals(currentUsername())) {
+            throw new GlobalAPIException(HttpStatus.NOT_FOUND, "Upload session not found or expired");
+        }
+        return session;
+    }
+
+    private static FileLock lock(FileChannel channel) throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // dipegang thread lain di JVM ini
+        }
+        throw new GlobalAPIException(HttpStatus.CONFLICT, "Another request for this upload is in progress");
+    }
+
+    static long[] parseContentRange(String header) {
+        Matcher matcher = header == null ? null : CONTENT_RANGE.matcher(header.trim());
+        if (matcher == null || !matcher.matches()) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Content-Range must be 'bytes start-end/total'");
+        }
+        try {
+            long start = Long.parseLong(matcher.group(1));
+            long end = Long.parseLong(matcher.group(2));
+            long total = Long.parseLong(matcher.group(3));
+            if (start > end) {
+                throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Invalid Content-Range");
+            }
+            return new long[]{start, end, total};
+        } catch (NumberFormatException e) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Invalid Content-Range");
+        }
+    }
+
+    private static UploadSession.Kind parseKind(String kind) {
+        return switch (kind.toLowerCase(Locale.ROOT)) {
+            case "thumbnail" -> UploadSession.Kind.THUMBNAIL;
+            case "user_photo" -> UploadSession.Kind.USER_PHOTO;
+            default -> throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Kind must be thumbnail or user_photo");
+        };
+    }
+
+    private static String label(UploadSession.Kind kind) {
+        return kind == UploadSession.Kind.THUMBNAIL ? "thumbnail" : "photo";
+    }
+
+    private static String namespace(UploadSession.Kind kind) {
+        return kind == UploadSession.Kind.THUMBNAIL ? UploadStorage.THUMBNAILS : UploadStorage.USER_PHOTOS;
+    }
+
+    private Path partFile(String id) {
+        return Paths.get(sessionDir).toAbsolutePath().resolve(id + ".part");
+    }
+
+    // null kalau belum login
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static UploadSessionDto toDto(UploadSession session) {
+        return new UploadSessionDto(
+                session.getId(),
+                session.getKind().name().toLowerCase(Locale.ROOT),
+                session.getStatus().name().toLowerCase(Locale.ROOT),
+                session.getFileName(),
+                session.getTotalSize(),
+                session.getReceivedBytes(),
+                session.getPath(),
+                session.getExpiresAt()
+        );
+    }
+}
@@ -5,18 +5,21 @@ import com.content.springboot_rest_api.dto.LoginResponseDto;
 import com.content.springboot_rest_api.dto.UserRegisterDto;
 import com.content.springboot_rest_api.dto.UserResponseDto;
 import com.content.springboot_rest_api.entity.Role;
+import com.content.springboot_rest_api.entity.UploadSession;
 import com.content.springboot_rest_api.entity.User;
 import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.mapper.UserMapper;
 import com.content.springboot_rest_api.repository.RoleRepository;
 import com.content.springboot_rest_api.repository.UserRepository;
 import com.content.springboot_rest_api.security.JwtTokenProvider;
 import com.content.springboot_rest_api.service.UserService;
+import com.content.springboot_rest_api.service.UploadSessionService;
+import com.content.springboot_rest_api.storage.UploadInspector;
+import com.content.springboot_rest_api.storage.UploadStorage;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,12 +27,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -43,42 +45,49 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
-    private final ModelMapper modelMapper;
-
-    @Value("${app.upload.user-photo-dir}")
-    private String uploadDir;
+    private final UserMapper userMapper;
+    private final UploadStorage uploadStorage;
+    private final UploadInspector uploadInspector;
+    private final UploadSessionService uploadSessionService;
+    private final TransactionTemplate transactionTemplate;
 
     public UserServiceImpl(UserRepository userRepository,
                            RoleRepository roleRepository,
                            PasswordEncoder passwordEncoder,
                            AuthenticationManager authenticationManager,
                            JwtTokenProvider jwtTokenProvider,
-                           ModelMapper modelMapper) {
+                           UserMapper userMapper,
+                           UploadStorage uploadStorage,
+                           UploadInspector uploadInspector,
+                           UploadSessionService uploadSessionService,
+                           PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
+        this.uploadStorage = uploadStorage;
+        this.uploadInspector = uploadInspector;
+        this.uploadSessionService = uploadSessionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     private static final long MAX_SIZE = 2 * 1024 * 1024; // 2MB
 
-    // mapping ekstensi -> MIME type yang diperbolehkan
-    private static final Map<String, String> ALLOWED_TYPES = Map.ofEntries(
-            Map.entry("png", "image/png"),
-            Map.entry("jpg", "image/jpeg"),
-            Map.entry("jpeg", "image/jpeg"),
-            Map.entry("gif", "image/gif"),
-            Map.entry("webp", "image/webp"),
-            Map.entry("svg", "image/svg+xml"),
-            Map.entry("heic", "image/heic"),
-            Map.entry("heif", "image/heif")
-    );
-
-    @Transactional
     @Override
     public UserResponseDto register(UserRegisterDto dto, MultipartFile foto) {
+        // foto ditulis sebelum transaksi dimulai, koneksi DB hanya dipegang untuk SQL
+        UploadStorage.StagedUpload staged = stagePhoto(foto);
+        try {
+            return transactionTemplate.execute(status -> saveNewUser(dto, staged));
+        } catch (RuntimeException e) {
+            uploadStorage.discard(staged);
+            throw e;
+        }
+    }
+
+    private UserResponseDto saveNewUser(UserRegisterDto dto, UploadStorage.StagedUpload staged) {
         //  validasi username
         if (userRepository.findByUsername(dto.getUsername()).isPresent()) {
             throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Username is already registered");
@@ -94,15 +103,11 @@ public class UserServiceImpl implements UserService {
             throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Mobile number is already registered");
         }
 
-        // Validasi dan simpan foto
-        String fotoPath = null;
-        if(foto != null && !foto.isEmpty()) {
-            validateFile(foto);
-            fotoPath = saveFile(foto, dto.getUsername());
-        }
+        // foto yang sudah di-stage / upload bertahap dicatat referensinya
+        String fotoPath = attachPhoto(staged, dto.getFotoUploadId());
 
         // mapping dto -> entity
-        User user = modelMapper.map(dto, User.class);
+        User user = userMapper.toEntity(dto);
         // encode password
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
         user.setFoto(fotoPath);
@@ -119,16 +124,21 @@ public class UserServiceImpl implements UserService {
         User savedUser = userRepository.save(user);
 
         // mapping entity -> response dto
-       UserResponseDto response = modelMapper.map(savedUser, UserResponseDto.class);
-       response.setRoles(Set.of("ROLE_USER"));
-
-       return response;
+       return userMapper.toResponse(savedUser);
     }
 
-    @Transactional
     @Override
     public UserResponseDto update(Long id, UserRegisterDto dto, MultipartFile foto) {
+        UploadStorage.StagedUpload staged = stagePhoto(foto);
+        try {
+            return transactionTemplate.execute(status -> applyUpdate(id, dto, staged));
+        } catch (RuntimeException e) {
+            uploadStorage.discard(staged);
+            throw e;
+        }
+    }
 
+    private UserResponseDto applyUpdate(Long id, UserRegisterDto dto, UploadStorage.StagedUpload staged) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new GlobalAPIException(HttpStatus.NOT_FOUND, "User not found"));
 
@@ -149,28 +159,14 @@ public class UserServiceImpl implements UserService {
             throw new GlobalAPIException(HttpStatus.FORBIDDEN, "You may not update other users' data");
         }
 
-        // Update field lain dari DTO (selain password yg sudah di-handle)
-        modelMapper.map(dto, user);
+        // Update field lain dari DTO (password di-handle di bawah)
+        userMapper.updateEntity(dto, user);
 
         // Update foto
-        if (foto != null && !foto.isEmpty()) {
-            validateFile(foto);
-
-            // hapus foto lama jika ada
-            if (user.getFoto() != null && !user.getFoto().isBlank()) {
-                try {
-                    // ambil nama file saja dari path DB
-                    String existingFileName = Paths.get(user.getFoto()).getFileName().toString();
-                    Path existingFilePath = Paths.get(uploadDir).toAbsolutePath().resolve(existingFileName);
-
-                    Files.deleteIfExists(existingFilePath);
-                } catch (IOException e) {
-                    log.warn("Failed to delete old photo files: {}", user.getFoto(), e);
-                }
-            }
-
-            // simpan foto baru
-            String fotoPath = saveFile(foto, dto.getUsername());
+        String fotoPath = attachPhoto(staged, dto.getFotoUploadId());
+        if (fotoPath != null) {
+            // lepas foto lama (file dihapus setelah commit kalau tidak dipakai user lain)
+            uploadStorage.release(user.getFoto());
             user.setFoto(fotoPath);
         }
 
@@ -183,22 +179,14 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedBy(username);
 
         User updated = userRepository.save(user);
-        UserResponseDto response = modelMapper.map(updated, UserResponseDto.class);
-        response.setRoles(
-                updated.getRoles().stream().map(Role::getName).collect(Collectors.toSet())
-        );
-        return response;
+        return userMapper.toResponse(updated);
     }
 
     @Override
     public List<UserResponseDto> getAll() {
         List<User> users = userRepository.findAll();
         return users.stream()
-                .map(user -> {
-                    UserResponseDto dto = modelMapper.map(user, UserResponseDto.class);
-                    dto.setRoles(user.getRoles().stream().map(Role::getName).collect(java.util.stream.Collectors.toSet()));
-                    return dto;
-                })
+                .map(userMapper::toResponse)
                 .toList();
     }
 
@@ -224,9 +212,7 @@ public class UserServiceImpl implements UserService {
             throw new GlobalAPIException(HttpStatus.FORBIDDEN, "You may not see other users' data");
         }
 
-        UserResponseDto dto = modelMapper.map(user, UserResponseDto.class);
-        dto.setRoles(user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
-        return dto;
+        return userMapper.toResponse(user);
     }
 
     @Transactional
@@ -252,18 +238,8 @@ public class UserServiceImpl implements UserService {
             throw new GlobalAPIException(HttpStatus.FORBIDDEN, "You cannot delete other users' data");
         }
 
-        // hapus foto jika ada
-        if (user.getFoto() != null && !user.getFoto().isBlank()) {
-            try {
-                // ambil nama file saja dari path DB
-                String existingFileName = Paths.get(user.getFoto()).getFileName().toString();
-                Path existingFilePath = Paths.get(uploadDir).toAbsolutePath().resolve(existingFileName);
-
-                Files.deleteIfExists(existingFilePath);
-            } catch (IOException e) {
-                log.warn("Failed to delete photo file: {}", user.getFoto(), e);
-            }
-        }
+        // lepas foto jika ada
+        uploadStorage.release(user.getFoto());
 
         // hapus data user
         userRepository.delete(user);
@@ -297,70 +273,33 @@ public class UserServiceImpl implements UserService {
         return new LoginResponseDto(token, "Bearer", user.getUsername(), roles);
     }
 
-    // helper methods
-    private void validateFile(MultipartFile file) {
-        log.info("Validating file: name={}, size={}, mime={}",
-                file.getOriginalFilename(), file.getSize(), file.getContentType());
-
-        // ukuran max
-        if (file.getSize() > MAX_SIZE) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Maximum photo size 2MB");
+    // helper method : foto multipart ditulis ke BlobStore sebelum transaksi; null kalau tidak ada
+    private UploadStorage.StagedUpload stagePhoto(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
         }
-
-        String originalFileName = file.getOriginalFilename();
-        if (originalFileName == null || !originalFileName.contains(".")) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Invalid file format");
-        }
-
-        // ambil ekstensi
-        String extension = originalFileName.substring(originalFileName.lastIndexOf(".") + 1).toLowerCase();
-
-        // cek apakah ada di daftar ekstensi yang diperbolehkan
-        if (!ALLOWED_TYPES.containsKey(extension)) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
-                    "Invalid file format. Just can: " + String.join(", ", ALLOWED_TYPES.keySet()));
-        }
-
-        // cek mime type dari file yang diupload
-        String mimeType = file.getContentType();
-        if (mimeType == null || !mimeType.equalsIgnoreCase(ALLOWED_TYPES.get(extension))) {
-            throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
-                    "MIME type does not match file extension (" + extension + ")");
-        }
-    }
-
-    // helper method : simpan file
-    private String saveFile(MultipartFile file, String username) {
         try {
-            // Buat path absolut untuk folder upload
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath();
-
-            // Buat folder jika belum ada
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // nama file = hash SHA-256 isi foto + ekstensi, foto yang sama tidak disimpan dua kali
+            // bisa diakses via /uploads/photos/users/filename (lihat UploadController)
+            // format dicek dari isi file (magic bytes) dan ukuran dibatasi selama stream ditulis
+            try (UploadInspector.InspectedUpload upload = uploadInspector.inspect(file, MAX_SIZE, "photo")) {
+                return uploadStorage.stage(upload, UploadStorage.USER_PHOTOS);
             }
-
-            // Ambil ekstensi file
-            String originalFileName = Objects.requireNonNull(file.getOriginalFilename());
-            String extension = originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase();
-
-            // Buat nama file unik: username_timestamp.ext
-            String fileName = username + "_" + System.currentTimeMillis() + extension;
-
-            // Full path tempat file akan disimpan
-            Path filePath = uploadPath.resolve(fileName);
-
-            // Simpan file
-            file.transferTo(filePath.toFile());
-
-            // Kembalikan relative path sesuai WebConfig
-            // Jadi nantinya bisa diakses via /photos/users/filename
-            return "/uploads/photos/users/" + fileName;
-
         } catch (IOException e) {
             log.error("Error while saving photo file: {}", e.getMessage(), e);
             throw new GlobalAPIException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Failed to save photo file: " + e.getMessage());
         }
     }
+
+    // helper method : di dalam transaksi, foto yang sudah di-stage atau dari upload bertahap yang sudah complete (foto_upload_id)
+    private String attachPhoto(UploadStorage.StagedUpload staged, String uploadId) {
+        if (staged != null) {
+            return uploadStorage.attach(staged);
+        }
+        if (uploadId != null && !uploadId.isBlank()) {
+            return uploadSessionService.consumeUpload(uploadId, UploadSession.Kind.USER_PHOTO);
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.content.springboot_rest_api.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Tempat penyimpanan isi file upload, dipilih lewat app.storage.backend (local / s3).
+ * Key = "<namespace>/<nama file>", mis. "thumbnails/<sha256>.png" (sama dengan ekor URL /uploads/photos/...).
+ * Semua operasi streaming; caller tidak tahu file ada di disk lokal atau di object storage.
+ */
+public interface BlobStore {
+
+    record BlobInfo(String key, long size, Instant lastModified) {
+    }
+
+    // tulis / timpa isi key; stream dibaca sampai habis tapi tidak ditutup
+    void put(String key, InputStream content, long size, String contentType) throws IOException;
+
+    // sumber berupa file lokal (hasil staging); implementasi boleh memindahkan file-nya
+    default void put(String key, Path file, String contentType) throws IOException {
+        try (InputStream content = Files.newInputStream(file)) {
+            put(key, content, Files.size(file), contentType);
+        }
+    }
+
+    // null kalau key tidak ada; stream wajib ditutup caller
+    InputStream get(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    // tidak error kalau key sudah tidak ada
+    void delete(String key) throws IOException;
+
+    // semua blob di satu namespace, dibaca bertahap; stream wajib ditutup caller
+    Stream<BlobInfo> list(String namespace) throws IOException;
+
+    // URL GET langsung ke storage (byte gambar tidak lewat server aplikasi); empty kalau backend tidak mendukung
+    Optional<URI> presignGet(String key, Duration ttl);
+
+    // file di disk lokal untuk dikirim zero-copy (sendfile); null kalau backend bukan disk lokal / key tidak ada
+    default Path localPath(String key) {
+        return null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.content.springboot_rest_api.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * BlobStore di disk lokal: namespace "users" dan "thumbnails" dipetakan ke folder upload masing-masing,
+ * file disimpan di layout sharded (lihat UploadPathResolver) dan masih dicari di folder datar
+ * selama UploadShardMigrator belum selesai. Tidak ada presign; file dikirim UploadController lewat sendfile.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final UploadPathResolver pathResolver;
+    private final Map<String, Path> roots;
+
+    public LocalBlobStore(UploadPathResolver pathResolver,
+                          @Value("${app.upload.user-photo-dir}") String userPhotoDir,
+                          @Value("${app.upload.article-photo-dir}") String articlePhotoDir) {
+        this.pathResolver = pathResolver;
+        this.roots = Map.of(
+                UploadStorage.USER_PHOTOS, Paths.get(userPhotoDir).toAbsolutePath(),
+                UploadStorage.THUMBNAILS, Paths.get(articlePhotoDir).toAbsolutePath());
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = target(key);
+        Files.createDirectories(target.getParent());
+        // tulis ke file sementara lalu rename, jadi pembaca tidak pernah melihat file setengah jadi
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // file staging cukup dipindah (rename) kalau satu filesystem, tanpa copy isi
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        Path target = target(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            BlobStore.super.put(key, file, contentType);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        Path file = localPath(key);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (NoSuchFileException e) {
+            return null; // dihapus / dipindah migrator di sela-sela
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return localPath(key) != null;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path root = root(key);
+        String fileName = fileName(key);
+        // file bisa masih di folder datar kalau belum dimigrasi
+        Files.deleteIfExists(pathResolver.shardedPath(root, fileName));
+        Files.deleteIfExists(pathResolver.flatPath(root, fileName));
+    }
+
+    @Override
+    public Stream<BlobInfo> list(String namespace) throws IOException {
+        Path root = roots.get(namespace);
+        if (root == null) {
+            throw new IllegalArgumentException("Unknown upload namespace: " + namespace);
+        }
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        // Files.walk membaca folder secara lazy, tidak me-list seluruh pohon shard ke memory
+        return Files.walk(root)
+                .map(file -> {
+                    BasicFileAttributes attributes = readAttributes(file);
+                    return attributes == null || !attributes.isRegularFile() ? null
+                            : new BlobInfo(namespace + "/" + file.getFileName(), attributes.size(),
+                            attributes.lastModifiedTime().toInstant());
+                })
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Optional<URI> presignGet(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return pathResolver.resolveExisting(root(key), fileName(key));
+    }
+
+    private Path target(String key) {
+        return pathResolver.shardedPath(root(key), fileName(key));
+    }
+
+    private Path root(String key) {
+        int slash = key.indexOf('/');
+        Path root = slash > 0 ? roots.get(key.substring(0, slash)) : null;
+        if (root == null) {
+            throw new IllegalArgumentException("Unknown upload key: " + key);
+        }
+        return root;
+    }
+
+    // hanya nama file polos (tidak ada "../" atau sub-folder)
+    private static String fileName(String key) {
+        String fileName = key.substring(key.indexOf('/') + 1);
+        if (!SAFE_FILE_NAME.matcher(fileName).matches() || fileName.equals(".") || fileName.equals("..")) {
+            throw new IllegalArgumentException("Invalid upload key: " + key);
+        }
+        return fileName;
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null; // dihapus / dipindah migrator di tengah jalan
+        }
+    }
+}
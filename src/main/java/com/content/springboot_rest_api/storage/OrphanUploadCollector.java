@@ -0,0 +1,173 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.component.ThumbnailRenditionGenerator;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import com.content.springboot_rest_api.repository.UploadBlobRepository;
+import com.content.springboot_rest_api.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Job GC file upload yatim: file di folder upload yang tidak dipakai artikel / user mana pun
+ * (upload yang transaksinya gagal, rendition lama, file sementara yang tertinggal).
+ * - path yang dipakai dikumpulkan dulu dari query proyeksi (hanya kolom path) ke Set nama file per folder
+ * - isi BlobStore di-list bertahap per namespace (disk: Files.walk sharded maupun datar, S3: ListObjectsV2),
+ *   kandidat dicek per batch
+ * - hanya file yang lebih tua dari grace period yang disentuh, jadi upload yang belum commit aman
+ * - sebelum hapus, referensi di upload_blobs dicek lagi (dengan lock) untuk upload ulang berisi sama
+ * Byte yang dibebaskan dilaporkan lewat metric uploads.gc.reclaimed (dan jumlah file di uploads.gc.deleted).
+ */
+@Component
+@Slf4j
+public class OrphanUploadCollector {
+
+    private final ArticlesRepository articlesRepository;
+    private final UserRepository userRepository;
+    private final UploadBlobRepository blobRepository;
+    private final UploadStorage uploadStorage;
+    private final BlobStore blobStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter reclaimedBytes;
+    private final Counter deletedFiles;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrphanUploadCollector(ArticlesRepository articlesRepository,
+                                 UserRepository userRepository,
+                                 UploadBlobRepository blobRepository,
+                                 UploadStorage uploadStorage,
+                                 BlobStore blobStore,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.upload.gc.enabled:true}") boolean enabled,
+                                 @Value("${app.upload.gc.grace-hours:24}") long graceHours,
+                                 @Value("${app.upload.gc.batch-size:500}") int batchSize) {
+        this.articlesRepository = articlesRepository;
+        this.userRepository = userRepository;
+        this.blobRepository = blobRepository;
+        this.uploadStorage = uploadStorage;
+        this.blobStore = blobStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reclaimedBytes = Counter.builder("uploads.gc.reclaimed")
+                .baseUnit("bytes")
+                .description("Bytes freed by deleting orphaned upload files")
+                .register(meterRegistry);
+        this.deletedFiles = Counter.builder("uploads.gc.deleted")
+                .baseUnit("files")
+                .description("Orphaned upload files deleted")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.gracePeriod = Duration.ofHours(graceHours);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.upload.gc.initial-delay-ms:300000}",
+            fixedDelayString = "${app.upload.gc.interval-ms:21600000}")
+    public void collect() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // batas waktu diambil sebelum path dikumpulkan: file yang lebih tua dari ini
+            // sudah ter-commit (atau gagal) sebelum snapshot referensi dibaca
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            Set<String> thumbnails = new HashSet<>();
+            Set<String> userPhotos = new HashSet<>();
+            readOnlyTransaction.executeWithoutResult(status -> collectReferences(thumbnails, userPhotos));
+
+            Sweep sweep = new Sweep();
+            sweep(UploadStorage.THUMBNAILS, thumbnails, cutoff, sweep);
+            sweep(UploadStorage.USER_PHOTOS, userPhotos, cutoff, sweep);
+            if (sweep.files > 0) {
+                log.info("Upload GC deleted {} orphaned files, reclaimed {} bytes", sweep.files, sweep.bytes);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Upload GC run failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void collectReferences(Set<String> thumbnails, Set<String> userPhotos) {
+        try (Stream<Object[]> rows = articlesRepository.streamThumbnailPaths()) {
+            rows.forEach(row -> {
+                addFileName(thumbnails, (String) row[0]);
+                addFileName(thumbnails, (String) row[1]);
+                ThumbnailRenditionGenerator.parse((String) row[2]).values().forEach(path -> addFileName(thumbnails, path));
+                ThumbnailRenditionGenerator.parse((String) row[3]).values().forEach(path -> addFileName(thumbnails, path));
+            });
+        }
+        try (Stream<String> photos = userRepository.streamPhotoPaths()) {
+            photos.forEach(path -> addFileName(userPhotos, path));
+        }
+    }
+
+    private static void addFileName(Set<String> names, String publicPath) {
+        if (publicPath != null && !publicPath.isBlank()) {
+            names.add(UploadPathResolver.fileName(publicPath));
+        }
+    }
+
+    private void sweep(String namespace, Set<String> referenced, Instant cutoff, Sweep sweep) {
+        // path publik -> ukuran; nama file sama bisa muncul dua kali di disk (sharded + datar di tengah migrasi),
+        // delete menghapus keduanya jadi ukurannya dijumlah
+        Map<String, Long> batch = new LinkedHashMap<>();
+        try (Stream<BlobStore.BlobInfo> blobs = blobStore.list(namespace)) {
+            Iterator<BlobStore.BlobInfo> iterator = blobs.iterator();
+            while (iterator.hasNext()) {
+                BlobStore.BlobInfo blob = iterator.next();
+                String fileName = blob.key().substring(namespace.length() + 1);
+                if (referenced.contains(fileName) || blob.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                batch.merge(UploadStorage.PUBLIC_PREFIX + blob.key(), blob.size(), Long::sum);
+                if (batch.size() >= batchSize) {
+                    deleteBatch(batch, sweep);
+                    batch.clear();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to list uploads in {} for GC", namespace, e);
+        }
+        deleteBatch(batch, sweep);
+    }
+
+    private void deleteBatch(Map<String, Long> candidates, Sweep sweep) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        // satu query per batch: file content-addressed yang baru dipakai lagi setelah snapshot dibuat
+        Set<String> stillReferenced = new HashSet<>(blobRepository.findReferencedPaths(candidates.keySet()));
+        candidates.forEach((publicPath, size) -> {
+            if (!stillReferenced.contains(publicPath) && uploadStorage.deleteIfUnreferenced(publicPath)) {
+                reclaimedBytes.increment(size);
+                deletedFiles.increment();
+                sweep.files++;
+                sweep.bytes += size;
+            }
+        });
+    }
+
+    // hasil satu run, untuk log
+    private static final class Sweep {
+        private long files;
+        private long bytes;
+    }
+}
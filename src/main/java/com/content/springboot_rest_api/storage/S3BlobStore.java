@@ -0,0 +1,279 @@
+package com.content.springboot_rest_api.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * BlobStore di object storage yang bicara protokol S3 (AWS S3, MinIO, R2, dll.) lewat java.net.http,
+ * ditandatangani SigV4 (S3RequestSigner), tanpa SDK tambahan.
+ * - put streaming dengan Content-Length dari caller, payload tidak di-hash ulang (UNSIGNED-PAYLOAD)
+ * - get/list dibaca bertahap, list paging per 1000 key (ListObjectsV2)
+ * - presignGet dipakai UploadController untuk redirect, jadi byte gambar langsung dari bucket ke client
+ * Endpoint bisa diarahkan ke stand-in S3 (mis. MinIO atau server in-memory) untuk pengujian.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private static final Duration MAX_PRESIGN_TTL = Duration.ofDays(7);
+
+    private final HttpClient httpClient;
+    private final S3RequestSigner signer;
+    private final URI endpoint;
+    private final String bucket;
+    private final boolean pathStyle;
+    private final String keyPrefix;
+    private final Duration requestTimeout;
+
+    public S3BlobStore(@Value("${app.storage.s3.endpoint}") String endpoint,
+                       @Value("${app.storage.s3.region}") String region,
+                       @Value("${app.storage.s3.bucket}") String bucket,
+                       @Value("${app.storage.s3.access-key}") String accessKey,
+                       @Value("${app.storage.s3.secret-key}") String secretKey,
+                       @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+                       @Value("${app.storage.s3.key-prefix:}") String keyPrefix,
+                       @Value("${app.storage.s3.request-timeout-ms:30000}") long requestTimeoutMs) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.pathStyle = pathStyle;
+        this.keyPrefix = keyPrefix;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.signer = new S3RequestSigner(accessKey, secretKey, region);
+        // HTTP/1.1: upgrade h2c di endpoint http:// tidak cocok dengan body streaming
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        URI uri = objectUri(key);
+        // fromPublisher menolak panjang 0, file kosong dikirim tanpa body
+        HttpRequest.BodyPublisher body = size > 0
+                ? HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(() -> content), size)
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest request = signed(HttpRequest.newBuilder(uri), "PUT", uri,
+                Map.of("Content-Type", contentType), S3RequestSigner.UNSIGNED_PAYLOAD)
+                .header("Content-Type", contentType)
+                .PUT(body)
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw failure("PUT", key, response.statusCode(), response.body());
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        URI uri = objectUri(key);
+        HttpRequest request = signed(HttpRequest.newBuilder(uri), "GET", uri, Map.of(), S3RequestSigner.EMPTY_PAYLOAD_SHA256)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 200) {
+            return response.body();
+        }
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == 404) {
+                return null;
+            }
+            throw failure("GET", key, response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        URI uri = objectUri(key);
+        HttpRequest request = signed(HttpRequest.newBuilder(uri), "HEAD", uri, Map.of(), S3RequestSigner.EMPTY_PAYLOAD_SHA256)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        int status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 200) {
+            return true;
+        }
+        if (status == 404) {
+            return false;
+        }
+        throw failure("HEAD", key, status, "");
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        URI uri = objectUri(key);
+        HttpRequest request = signed(HttpRequest.newBuilder(uri), "DELETE", uri, Map.of(), S3RequestSigner.EMPTY_PAYLOAD_SHA256)
+                .DELETE()
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        // S3 menjawab 204 juga untuk key yang tidak ada
+        if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+            throw failure("DELETE", key, response.statusCode(), response.body());
+        }
+    }
+
+    @Override
+    public Stream<BlobInfo> list(String namespace) {
+        String prefix = keyPrefix + namespace + "/";
+        Iterator<BlobInfo> pages = new Iterator<>() {
+            private Iterator<BlobInfo> page = Collections.emptyIterator();
+            private String continuationToken;
+            private boolean truncated = true;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && truncated) {
+                    try {
+                        fetch();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public BlobInfo next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+
+            private void fetch() throws IOException {
+                ListPage result = listPage(prefix, continuationToken);
+                page = result.blobs().iterator();
+                continuationToken = result.nextContinuationToken();
+                truncated = result.truncated() && continuationToken != null;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Optional<URI> presignGet(String key, Duration ttl) {
+        Duration expires = ttl.compareTo(MAX_PRESIGN_TTL) > 0 ? MAX_PRESIGN_TTL : ttl;
+        return Optional.of(signer.presign("GET", objectUri(key), expires, Instant.now()));
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private record ListPage(List<BlobInfo> blobs, boolean truncated, String nextContinuationToken) {
+    }
+
+    private ListPage listPage(String prefix, String continuationToken) throws IOException {
+        StringBuilder query = new StringBuilder("list-type=2&max-keys=1000&prefix=").append(S3RequestSigner.encode(prefix));
+        if (continuationToken != null) {
+            query.append("&continuation-token=").append(S3RequestSigner.encode(continuationToken));
+        }
+        URI uri = URI.create(bucketUri() + "/?" + query);
+        HttpRequest request = signed(HttpRequest.newBuilder(uri), "GET", uri, Map.of(), S3RequestSigner.EMPTY_PAYLOAD_SHA256)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw failure("LIST", prefix, response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return parseListPage(body);
+        }
+    }
+
+    // <ListBucketResult><IsTruncated/><NextContinuationToken/><Contents><Key/><Size/><LastModified/></Contents>...
+    private ListPage parseListPage(InputStream body) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        List<BlobInfo> blobs = new ArrayList<>();
+        boolean truncated = false;
+        String nextToken = null;
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(body);
+            try {
+                String key = null;
+                long size = 0;
+                Instant lastModified = Instant.EPOCH;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamReader.START_ELEMENT) {
+                        switch (reader.getLocalName()) {
+                            case "Contents" -> {
+                                key = null;
+                                size = 0;
+                                lastModified = Instant.EPOCH;
+                            }
+                            case "Key" -> key = reader.getElementText();
+                            case "Size" -> size = Long.parseLong(reader.getElementText().trim());
+                            case "LastModified" -> lastModified = Instant.parse(reader.getElementText().trim());
+                            case "IsTruncated" -> truncated = Boolean.parseBoolean(reader.getElementText().trim());
+                            case "NextContinuationToken" -> nextToken = reader.getElementText();
+                            default -> {
+                            }
+                        }
+                    } else if (event == XMLStreamReader.END_ELEMENT && "Contents".equals(reader.getLocalName())
+                            && key != null && key.startsWith(keyPrefix)) {
+                        blobs.add(new BlobInfo(key.substring(keyPrefix.length()), size, lastModified));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Invalid S3 list response", e);
+        }
+        return new ListPage(blobs, truncated, nextToken);
+    }
+
+    private HttpRequest.Builder signed(HttpRequest.Builder builder, String method, URI uri,
+                                       Map<String, String> headers, String payloadHash) {
+        builder.timeout(requestTimeout);
+        signer.sign(method, uri, headers, payloadHash, Instant.now()).forEach(builder::header);
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 request interrupted: " + request.method() + " " + request.uri().getPath());
+        }
+    }
+
+    private URI objectUri(String key) {
+        return URI.create(bucketUri() + "/" + S3RequestSigner.encode(keyPrefix + key, false));
+    }
+
+    // path-style (endpoint/bucket, MinIO & stand-in lokal) atau virtual-hosted (bucket.endpoint, AWS)
+    private String bucketUri() {
+        if (pathStyle) {
+            return endpoint + "/" + S3RequestSigner.encode(bucket);
+        }
+        return endpoint.getScheme() + "://" + bucket + "." + endpoint.getRawAuthority();
+    }
+
+    private static IOException failure(String operation, String key, int status, String body) {
+        return new IOException("S3 " + operation + " " + key + " failed with status " + status
+                + (body == null || body.isBlank() ? "" : ": " + body));
+    }
+}
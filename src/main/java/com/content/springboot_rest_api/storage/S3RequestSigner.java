@@ -0,0 +1,169 @@
+package com.content.springboot_rest_api.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * AWS Signature Version 4 untuk request S3 (header Authorization) dan presigned URL (query string).
+ * Hanya yang dipakai S3BlobStore: service "s3", payload boleh UNSIGNED-PAYLOAD, path sudah di-encode sekali.
+ */
+final class S3RequestSigner {
+
+    static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    static final String EMPTY_PAYLOAD_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    S3RequestSigner(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * Header yang harus ditambahkan ke request: x-amz-date, x-amz-content-sha256 dan Authorization.
+     * headers = header lain yang ikut ditandatangani (Host selalu diambil dari uri).
+     */
+    Map<String, String> sign(String method, URI uri, Map<String, String> headers, String payloadHash, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        SortedMap<String, String> signed = new TreeMap<>();
+        headers.forEach((name, value) -> signed.put(name.toLowerCase(Locale.ROOT), value.trim()));
+        signed.put("host", host(uri));
+        signed.put("x-amz-content-sha256", payloadHash);
+        signed.put("x-amz-date", amzDate);
+
+        String signedHeaders = String.join(";", signed.keySet());
+        String signature = signature(method, uri.getRawPath(), canonicalQuery(uri.getRawQuery()),
+                signed, signedHeaders, payloadHash, now);
+
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("x-amz-date", amzDate);
+        result.put("x-amz-content-sha256", payloadHash);
+        result.put("Authorization", ALGORITHM + " Credential=" + accessKey + "/" + scope(now)
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature);
+        return result;
+    }
+
+    // URL yang bisa dipakai siapa pun sampai expires habis (maks. 7 hari), hanya Host yang ditandatangani
+    URI presign(String method, URI uri, Duration expires, Instant now) {
+        String query = (uri.getRawQuery() == null ? "" : uri.getRawQuery() + "&")
+                + "X-Amz-Algorithm=" + ALGORITHM
+                + "&X-Amz-Credential=" + encode(accessKey + "/" + scope(now))
+                + "&X-Amz-Date=" + AMZ_DATE.format(now)
+                + "&X-Amz-Expires=" + expires.toSeconds()
+                + "&X-Amz-SignedHeaders=host";
+        SortedMap<String, String> signed = new TreeMap<>(Map.of("host", host(uri)));
+        String signature = signature(method, uri.getRawPath(), canonicalQuery(query),
+                signed, "host", UNSIGNED_PAYLOAD, now);
+        return URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath()
+                + "?" + query + "&X-Amz-Signature=" + signature);
+    }
+
+    private String signature(String method, String rawPath, String canonicalQuery, SortedMap<String, String> headers,
+                             String signedHeaders, String payloadHash, Instant now) {
+        StringBuilder canonicalHeaders = new StringBuilder();
+        headers.forEach((name, value) -> canonicalHeaders.append(name).append(':').append(value).append('\n'));
+        String canonicalRequest = method + "\n"
+                + (rawPath == null || rawPath.isEmpty() ? "/" : rawPath) + "\n"
+                + canonicalQuery + "\n"
+                + canonicalHeaders + "\n"
+                + signedHeaders + "\n"
+                + payloadHash;
+        String stringToSign = ALGORITHM + "\n"
+                + AMZ_DATE.format(now) + "\n"
+                + scope(now) + "\n"
+                + sha256Hex(canonicalRequest);
+
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), DATE.format(now));
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        return HEX.formatHex(hmac(key, stringToSign));
+    }
+
+    private String scope(Instant now) {
+        return DATE.format(now) + "/" + region + "/s3/aws4_request";
+    }
+
+    // parameter diurutkan per nama lalu nilai; nilai sudah di-encode (encode) oleh pembuat URL
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String[]> params = new ArrayList<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            params.add(eq < 0 ? new String[]{pair, ""} : new String[]{pair.substring(0, eq), pair.substring(eq + 1)});
+        }
+        params.sort(Comparator.<String[], String>comparing(p -> p[0]).thenComparing(p -> p[1]));
+        StringJoiner joiner = new StringJoiner("&");
+        params.forEach(p -> joiner.add(p[0] + "=" + p[1]));
+        return joiner.toString();
+    }
+
+    // port hanya ditulis kalau bukan port default, sama seperti header Host yang dikirim HttpClient
+    private static String host(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("http".equals(uri.getScheme()) && port == 80)
+                || ("https".equals(uri.getScheme()) && port == 443);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    /**
+     * URI-encode versi AWS: semua byte di-percent-encode kecuali A-Z a-z 0-9 - _ . ~,
+     * "/" dibiarkan kalau encodeSlash = false (untuk path object key).
+     */
+    static String encode(String value, boolean encodeSlash) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                result.append(c);
+            } else {
+                result.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+            }
+        }
+        return result.toString();
+    }
+
+    static String encode(String value) {
+        return encode(value, true);
+    }
+
+    static String sha256Hex(String value) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
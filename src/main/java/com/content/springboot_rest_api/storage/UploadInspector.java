@@ -0,0 +1,240 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Validasi upload gambar dari isi file, bukan dari nama / Content-Type kiriman client.
+ * Format dikenali dari magic bytes di awal stream, lalu ekstensi & Content-Type harus cocok dengan format itu.
+ * Ukuran dicek dari header multipart dan tetap dihitung selama stream dibaca, jadi tidak ada
+ * pemeriksaan ulang file setelah tersimpan di disk.
+ */
+@Component
+public class UploadInspector {
+
+    // cukup untuk semua signature biner, dan untuk mencari tag <svg di awal dokumen
+    private static final int HEAD_SIZE = 1024;
+
+    public enum ImageFormat {
+        PNG(Map.of("png", "image/png")),
+        JPEG(linked("jpg", "image/jpeg", "jpeg", "image/jpeg")),
+        GIF(Map.of("gif", "image/gif")),
+        WEBP(Map.of("webp", "image/webp")),
+        SVG(Map.of("svg", "image/svg+xml")),
+        // heic & heif sama-sama kontainer ISO-BMFF, brand-nya sering tercampur
+        HEIF(linked("heic", "image/heic", "heif", "image/heif"));
+
+        private final Map<String, String> mimeByExtension;
+
+        ImageFormat(Map<String, String> mimeByExtension) {
+            this.mimeByExtension = mimeByExtension;
+        }
+
+        // ekstensi yang dipakai saat menyimpan file
+        public String extension() {
+            return mimeByExtension.keySet().iterator().next();
+        }
+
+        // Content-Type saat disimpan / dikirim ulang
+        public String mimeType() {
+            return mimeByExtension.get(extension());
+        }
+
+        private static Map<String, String> linked(String ext1, String mime1, String ext2, String mime2) {
+            Map<String, String> map = new LinkedHashMap<>();
+            map.put(ext1, mime1);
+            map.put(ext2, mime2);
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+    /**
+     * Upload yang sudah lolos validasi. Stream sudah dibuka (byte awal yang dipakai untuk deteksi
+     * ikut dikembalikan) dan akan melempar GlobalAPIException kalau melebihi batas ukuran.
+     */
+    public record InspectedUpload(ImageFormat format, String extension, InputStream stream) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+
+    public InspectedUpload inspect(MultipartFile file, long maxBytes, String label) throws IOException {
+        return inspect(file, file.getOriginalFilename(), file.getContentType(), file.getSize(), maxBytes, label);
+    }
+
+    /**
+     * Sama seperti inspect(MultipartFile, ...) untuk sumber lain (mis. file hasil upload bertahap):
+     * nama file, Content-Type & ukuran dari client, isi dibaca dari source.
+     */
+    public InspectedUpload inspect(InputStreamSource source, String originalFileName, String mimeType,
+                                   long size, long maxBytes, String label) throws IOException {
+        String sizeMessage = "Maximum " + label + " size " + (maxBytes % (1024 * 1024) == 0
+                ? maxBytes / (1024 * 1024) + " MB"
+                : maxBytes / 1024 + " KB");
+        // tolak lebih awal dari ukuran yang dilaporkan client, sebelum stream dibuka
+        if (size > maxBytes) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, sizeMessage);
+        }
+
+        if (originalFileName == null || !originalFileName.contains(".")) {
+            throw new GlobalAPIException(HttpStatus.BAD_REQUEST, "Invalid file format");
+        }
+        String extension = originalFileName.substring(originalFileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+
+        InputStream stream = new LimitedInputStream(source.getInputStream(), maxBytes, sizeMessage);
+        try {
+            byte[] head = stream.readNBytes(HEAD_SIZE);
+            ImageFormat format = sniff(head);
+            if (format == null) {
+                throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                        "Invalid file format. Just can : " + String.join(", ", allowedExtensions()));
+            }
+            if (!format.mimeByExtension.containsKey(extension)) {
+                throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                        "File extension does not match file content (" + format.name().toLowerCase(Locale.ROOT) + ")");
+            }
+            if (mimeType == null || !mimeType.equalsIgnoreCase(format.mimeByExtension.get(extension))) {
+                throw new GlobalAPIException(HttpStatus.BAD_REQUEST,
+                        "MIME type does not match file content (" + extension + ")");
+            }
+
+            // byte awal disambung lagi di depan sisa stream
+            return new InspectedUpload(format, format.extension(),
+                    new SequenceInputStream(new ByteArrayInputStream(head), stream));
+        } catch (RuntimeException | IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    static ImageFormat sniff(byte[] head) {
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return ImageFormat.PNG;
+        }
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return ImageFormat.JPEG;
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(head, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return ImageFormat.GIF;
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return ImageFormat.WEBP;
+        }
+        // ISO-BMFF: <size 4 byte> "ftyp" <major brand>
+        if (startsWith(head, 4, 'f', 't', 'y', 'p') && head.length >= 12) {
+            String brand = new String(head, 8, 4, StandardCharsets.US_ASCII);
+            if (Set.of("heic", "heix", "hevc", "hevx", "heim", "heis", "hevm", "hevs", "mif1", "msf1").contains(brand)) {
+                return ImageFormat.HEIF;
+            }
+            return null;
+        }
+        if (looksLikeSvg(head)) {
+            return ImageFormat.SVG;
+        }
+        return null;
+    }
+
+    // teks (tanpa byte biner), boleh diawali BOM / deklarasi XML / komentar / doctype, lalu elemen <svg
+    private static boolean looksLikeSvg(byte[] head) {
+        for (byte b : head) {
+            if (b == 0) {
+                return false;
+            }
+        }
+        String text = new String(head, StandardCharsets.UTF_8).replace("\uFEFF", "");
+        int index = 0;
+        while (true) {
+            while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+                index++;
+            }
+            if (text.startsWith("<svg", index)) {
+                return true;
+            }
+            String close = text.startsWith("<?", index) ? "?>"
+                    : text.startsWith("<!--", index) ? "-->"
+                    : text.startsWith("<!", index) ? ">"
+                    : null;
+            if (close == null) {
+                return false;
+            }
+            int end = text.indexOf(close, index);
+            if (end < 0) {
+                return false;
+            }
+            index = end + close.length();
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... expected) {
+        if (data.length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((data[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> allowedExtensions() {
+        List<String> extensions = new ArrayList<>();
+        for (ImageFormat format : ImageFormat.values()) {
+            extensions.addAll(format.mimeByExtension.keySet());
+        }
+        return extensions;
+    }
+
+    // hitung byte yang sudah dibaca, stop begitu melewati batas (tidak menunggu file selesai ditulis)
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private final String message;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long maxBytes, String message) {
+            super(in);
+            this.maxBytes = maxBytes;
+            this.message = message;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new GlobalAPIException(HttpStatus.BAD_REQUEST, message);
+            }
+        }
+    }
+}
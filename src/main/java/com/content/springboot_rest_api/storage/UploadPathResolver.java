@@ -0,0 +1,67 @@
+package com.content.springboot_rest_api.storage;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Lokasi file upload di disk: "<dir>/<ab>/<cd>/<nama file>" (dua level, 256 x 256 folder).
+ * URL publik tetap datar (/uploads/photos/.../<nama file>), hanya lokasi di disk yang di-shard.
+ * Nama content-addressed ("<sha256>..." termasuk rendition-nya) di-shard dari awal namanya,
+ * nama lama (slug_timestamp.ext) dari SHA-256 nama file.
+ * Selama UploadShardMigrator belum selesai, file lama masih bisa berada langsung di <dir>.
+ */
+@Component
+public class UploadPathResolver {
+
+    private static final Pattern CONTENT_HASH_PREFIX = Pattern.compile("^[0-9a-f]{64}");
+
+    // lokasi file baru / hasil migrasi
+    public Path shardedPath(Path dir, String fileName) {
+        String key = CONTENT_HASH_PREFIX.matcher(fileName).lookingAt() ? fileName : sha256Hex(fileName);
+        return dir.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(fileName);
+    }
+
+    // lokasi sebelum di-shard
+    public Path flatPath(Path dir, String fileName) {
+        return dir.resolve(fileName);
+    }
+
+    /**
+     * Lokasi file yang ada sekarang: sharded, lalu datar (belum dimigrasi).
+     * Sharded dicek dua kali supaya file yang dipindah migrator di sela-sela pengecekan tetap ketemu.
+     * Return null kalau file tidak ada.
+     */
+    public Path resolveExisting(Path dir, String fileName) {
+        Path sharded = shardedPath(dir, fileName);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path flat = flatPath(dir, fileName);
+        if (Files.exists(flat)) {
+            return flat;
+        }
+        return Files.exists(sharded) ? sharded : null;
+    }
+
+    // nama file dari path publik / path DB ("/uploads/photos/thumbnails/x.png" -> "x.png")
+    public static String fileName(String publicPath) {
+        return Paths.get(publicPath).getFileName().toString();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.content.springboot_rest_api.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job background yang memindahkan file upload lama dari folder datar ke layout sharded
+ * (lihat UploadPathResolver). Tiap run memindahkan paling banyak batch-size file supaya IO tersebar;
+ * URL lama tetap jalan karena resolver masih mencari di folder datar.
+ * Setelah semua pindah, folder datar hanya berisi folder shard dan run berikutnya selesai seketika.
+ * Hanya untuk backend disk lokal (LocalBlobStore).
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class UploadShardMigrator {
+
+    private final UploadPathResolver pathResolver;
+    private final boolean enabled;
+    private final int batchSize;
+    private final List<String> dirs;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UploadShardMigrator(UploadPathResolver pathResolver,
+                               @Value("${app.upload.shard-migration.enabled:true}") boolean enabled,
+                               @Value("${app.upload.shard-migration.batch-size:1000}") int batchSize,
+                               @Value("${app.upload.user-photo-dir}") String userPhotoDir,
+                               @Value("${app.upload.article-photo-dir}") String articlePhotoDir) {
+        this.pathResolver = pathResolver;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.dirs = List.of(userPhotoDir, articlePhotoDir);
+    }
+
+    @Scheduled(initialDelayString = "${app.upload.shard-migration.initial-delay-ms:60000}",
+            fixedDelayString = "${app.upload.shard-migration.interval-ms:10000}")
+    public void migrateBatch() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (String dir : dirs) {
+                int moved = migrate(Paths.get(dir).toAbsolutePath());
+                if (moved > 0) {
+                    log.info("Moved {} upload files into sharded layout under {}", moved, dir);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int migrate(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        int moved = 0;
+        // DirectoryStream membaca entry bertahap, tidak me-list seluruh folder ke memory
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+            for (Path file : entries) {
+                String fileName = file.getFileName().toString();
+                // file sementara upload / rendition yang sedang ditulis
+                if (fileName.startsWith(".")) {
+                    continue;
+                }
+                if (moveToShard(dir, file, fileName)) {
+                    moved++;
+                }
+                if (moved >= batchSize) {
+                    break;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            log.warn("Failed to scan {} for upload shard migration", dir, e);
+        }
+        return moved;
+    }
+
+    private boolean moveToShard(Path dir, Path file, String fileName) {
+        Path target = pathResolver.shardedPath(dir, fileName);
+        try {
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // sudah ada versi sharded (mis. upload ulang dengan isi sama), salinan datar tidak dipakai lagi
+                Files.deleteIfExists(file);
+                return false;
+            }
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false; // dihapus di tengah jalan
+        } catch (IOException e) {
+            log.warn("Failed to move upload file {} into sharded layout", file, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.entity.UploadBlob;
+import com.content.springboot_rest_api.repository.UploadBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Penyimpanan upload berbasis isi (content-addressed): nama file = SHA-256 isi file + ekstensi.
+ * Hash dihitung sambil upload ditulis ke file sementara, jadi file tidak dibaca dua kali.
+ * File yang isinya sama hanya disimpan sekali; pemakaiannya dihitung di tabel upload_blobs
+ * dan file baru dihapus setelah referensi terakhir dilepas (setelah commit).
+ * Tulis file tidak pernah di dalam transaksi: stage sebelum transaksi, attach (SQL saja) di dalamnya,
+ * promote / hapus file lewat listener AFTER_COMMIT, discard kalau transaksi gagal.
+ * Listener menyerahkan kerjanya ke task executor, jadi koneksi transaksi caller sudah dilepas dan
+ * panggilan ke BlobStore (round trip S3) tidak pernah dilakukan sambil memegang koneksi atau lock:
+ * hapus file = klaim baris upload_blobs (transaksi pendek), hapus blob, lalu tutup klaim (transaksi pendek).
+ * Karena nama file tidak pernah dipakai untuk isi lain, file aman di-cache selamanya (lihat UploadController).
+ * Isi file disimpan di BlobStore (disk lokal atau S3); path publik "/uploads/photos/<key>".
+ */
+@Component
+@Slf4j
+public class UploadStorage {
+
+    // namespace BlobStore (= segmen URL /uploads/photos/<namespace>/...)
+    public static final String THUMBNAILS = "thumbnails";
+    public static final String USER_PHOTOS = "users";
+    public static final String PUBLIC_PREFIX = "/uploads/photos/";
+
+    private final UploadBlobRepository blobRepository;
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor taskExecutor;
+    private final Path stagingDir;
+    private final Duration deleteClaim;
+    // ikut transaksi caller kalau ada
+    private final TransactionTemplate transactionTemplate;
+
+    public UploadStorage(UploadBlobRepository blobRepository,
+                         BlobStore blobStore,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                         @Value("${app.storage.staging-dir}") String stagingDir,
+                         @Value("${app.storage.delete-claim-seconds:120}") long deleteClaimSeconds) {
+        this.blobRepository = blobRepository;
+        this.blobStore = blobStore;
+        this.eventPublisher = eventPublisher;
+        this.taskExecutor = taskExecutor;
+        this.stagingDir = Paths.get(stagingDir).toAbsolutePath();
+        this.deleteClaim = Duration.ofSeconds(deleteClaimSeconds);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Tahap 1, sebelum transaksi dimulai: tulis upload (sudah diperiksa UploadInspector) ke staging sambil dihitung
+     * hash-nya, lalu kirim ke BlobStore sebagai "<namespace>/<sha256>.<ext>" kalau isinya belum ada.
+     * Belum ada referensi yang dicatat; lanjutkan dengan attach di dalam transaksi, atau discard kalau batal.
+     */
+    public StagedUpload stage(UploadInspector.InspectedUpload upload, String namespace) throws IOException {
+        Files.createDirectories(stagingDir);
+
+        Path temp = Files.createTempFile(stagingDir, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            // batas ukuran ditegakkan stream inspector selama copy, file sementara dibuang kalau terlampaui
+            try (InputStream input = new DigestInputStream(upload.stream(), digest)) {
+                size = Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = namespace + "/" + hash + "." + upload.extension();
+            String contentType = upload.format().mimeType();
+
+            // file staging disimpan sampai commit, untuk promote kalau blob sempat dihapus sebelum referensi tercatat
+            if (!blobStore.exists(key)) {
+                try (InputStream input = Files.newInputStream(temp)) {
+                    blobStore.put(key, input, size, contentType);
+                }
+            } else {
+                log.debug("Upload {} already stored, skipping write", key);
+            }
+            return new StagedUpload(PUBLIC_PREFIX + key, hash, size, contentType, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Tahap 2, di dalam transaksi caller: tambah satu referensi. Setelah commit blob dipastikan ada
+     * dan file staging dibuang (onAttachCommitted). Return path publik ("/uploads/photos/<namespace>/<nama file>").
+     */
+    public String attach(StagedUpload staged) {
+        transactionTemplate.executeWithoutResult(status -> blobRepository.acquire(staged.publicPath(), staged.hash(), staged.size()));
+        eventPublisher.publishEvent(new UploadAttached(staged));
+        return staged.publicPath();
+    }
+
+    /**
+     * Batalkan upload yang sudah di-stage (transaksi rollback atau gagal dimulai): file staging dibuang
+     * dan blob dihapus kalau tidak ada yang mereferensikan. Boleh dipanggil lebih dari sekali, null diabaikan.
+     */
+    public void discard(StagedUpload staged) {
+        if (staged == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(staged.file());
+        } catch (IOException e) {
+            log.warn("Failed to delete staged upload: {}", staged.file(), e);
+        }
+        deleteIfUnreferenced(staged.publicPath());
+    }
+
+    public void release(String publicPath) {
+        release(publicPath, null);
+    }
+
+    /**
+     * Lepas satu referensi. Kalau itu referensi terakhir, file dihapus setelah commit
+     * lalu onDeleted dijalankan (mis. hapus rendition). File lama (sebelum content-addressed)
+     * tidak punya baris di upload_blobs dan langsung dihapus setelah commit seperti sebelumnya.
+     */
+    public void release(String publicPath, Runnable onDeleted) {
+        if (publicPath == null || publicPath.isBlank()) {
+            return;
+        }
+        // baris dengan ref_count 0 dibiarkan, dihapus bersama file oleh klaim hapus
+        Boolean delete = transactionTemplate.execute(status -> {
+            if (blobRepository.release(publicPath) == 0 && !blobRepository.existsById(publicPath)) {
+                return true; // file lama
+            }
+            return blobRepository.findById(publicPath).map(blob -> blob.getRefCount() == 0).orElse(false);
+        });
+        if (Boolean.TRUE.equals(delete)) {
+            eventPublisher.publishEvent(new UploadReleased(publicPath, onDeleted));
+        }
+    }
+
+    // AFTER_COMMIT masih memegang koneksi transaksi caller, kerja file dijalankan setelah koneksi itu dilepas;
+    // tanpa transaksi (fallbackExecution) listener langsung jalan
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttachCommitted(UploadAttached event) {
+        taskExecutor.execute(() -> promote(event.staged()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReleaseCommitted(UploadReleased event) {
+        taskExecutor.execute(() -> deleteFile(event.publicPath(), event.onDeleted()));
+    }
+
+    // referensi sudah ter-commit, jadi klaim hapus baru tidak akan diberikan lagi; klaim yang diambil sebelumnya
+    // (release / discard lain) ditunggu sampai selesai, baru dicek apakah blob perlu ditulis ulang dari staging
+    private void promote(StagedUpload staged) {
+        try {
+            awaitDeleteClaim(staged.publicPath());
+            String key = keyOf(staged.publicPath());
+            if (!blobStore.exists(key)) {
+                blobStore.put(key, staged.file(), staged.contentType());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to promote staged upload {}", staged.publicPath(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(staged.file());
+            } catch (IOException e) {
+                log.warn("Failed to delete staged upload: {}", staged.file(), e);
+            }
+        }
+    }
+
+    private void deleteFile(String publicPath, Runnable onDeleted) {
+        try {
+            if (deleteClaimed(publicPath) && onDeleted != null) {
+                onDeleted.run();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to release upload file: {}", publicPath, e);
+        }
+    }
+
+    /**
+     * Hapus file yang dianggap yatim oleh OrphanUploadCollector (atau upload yang di-discard), di luar transaksi.
+     * Kalau ternyata masih (atau baru saja) direferensikan, file dibiarkan. Return true kalau file terhapus.
+     */
+    public boolean deleteIfUnreferenced(String publicPath) {
+        return deleteClaimed(publicPath);
+    }
+
+    // klaim -> hapus blob -> tutup klaim; hanya transaksi klaim & penutupnya yang memakai koneksi
+    private boolean deleteClaimed(String publicPath) {
+        LocalDateTime claim = transactionTemplate.execute(status -> claimForDelete(publicPath));
+        if (claim == null) {
+            return false;
+        }
+        boolean deleted = false;
+        try {
+            blobStore.delete(keyOf(publicPath));
+            deleted = true;
+        } catch (IOException e) {
+            log.warn("Failed to delete upload file: {}", publicPath, e);
+        } finally {
+            // tetap tidak direferensikan: baris ikut dihapus; kalau upload berisi sama masuk selama klaim,
+            // promote-nya menunggu klaim ditutup lalu menulis ulang blob dari staging
+            transactionTemplate.executeWithoutResult(status -> {
+                if (blobRepository.deleteClaimed(publicPath, claim) == 0) {
+                    blobRepository.clearClaim(publicPath, claim);
+                }
+            });
+        }
+        return deleted;
+    }
+
+    // lock baris (atau gap-nya, untuk file lama / yatim tanpa baris): null kalau masih direferensikan
+    // atau sedang diklaim penghapus lain; file tanpa baris mendapat baris ref_count 0 sebagai pemegang klaim
+    private LocalDateTime claimForDelete(String publicPath) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claim = now.plus(deleteClaim).truncatedTo(ChronoUnit.SECONDS);
+        Optional<UploadBlob> existing = blobRepository.findForUpdate(publicPath);
+        if (existing.isEmpty()) {
+            blobRepository.save(new UploadBlob(publicPath, "", 0L, 0, now, claim));
+            return claim;
+        }
+        UploadBlob blob = existing.get();
+        if (blob.getRefCount() > 0 || (blob.getDeletingUntil() != null && blob.getDeletingUntil().isAfter(now))) {
+            return null;
+        }
+        blob.setDeletingUntil(claim);
+        return claim;
+    }
+
+    private void awaitDeleteClaim(String publicPath) {
+        Optional<LocalDateTime> claim = blobRepository.findDeletingUntil(publicPath);
+        while (claim.isPresent() && claim.get().isAfter(LocalDateTime.now())) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            claim = blobRepository.findDeletingUntil(publicPath);
+        }
+    }
+
+    // "/uploads/photos/thumbnails/x.png" -> "thumbnails/x.png"
+    public static String keyOf(String publicPath) {
+        if (!publicPath.startsWith(PUBLIC_PREFIX)) {
+            throw new IllegalArgumentException("Not an upload path: " + publicPath);
+        }
+        return publicPath.substring(PUBLIC_PREFIX.length());
+    }
+
+    /** Upload yang sudah ada di BlobStore tapi belum direferensikan; file = salinan di staging sampai commit. */
+    public record StagedUpload(String publicPath, String hash, long size, String contentType, Path file) {
+    }
+
+    record UploadAttached(StagedUpload staged) {
+    }
+
+    record UploadReleased(String publicPath, Runnable onDeleted) {
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.content.springboot_rest_api.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Trending: urutan setelah peluruhan, rescale di prune, buang artikel basi, pindah kategori.
+ * Jam dimajukan manual, half-life 1 jam.
+ */
+class ArticleTrendingTrackerTests {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock();
+    private final ArticleTrendingTracker tracker = new ArticleTrendingTracker(1, clock);
+
+    @Test
+    void recentViewsOutrankOlderButMoreNumerousViews() {
+        views(1L, 10L, 3);
+        clock.advance(HALF_LIFE.multipliedBy(2));
+        views(2L, 10L, 2);
+
+        // artikel 1: 3 views x 0.25 = 0.75, artikel 2: 2 views baru
+        assertThat(tracker.score(1L)).isCloseTo(0.75, within(1e-9));
+        assertThat(tracker.score(2L)).isCloseTo(2.0, within(1e-9));
+        assertThat(tracker.topArticleIds(null, 10)).containsExactly(2L, 1L);
+        assertThat(tracker.topArticleIds(null, 1)).containsExactly(2L);
+    }
+
+    @Test
+    void pruneRescalesWithoutChangingScores() {
+        views(1L, 10L, 4);
+        clock.advance(HALF_LIFE);
+        views(2L, 10L, 1);
+        double before1 = tracker.score(1L);
+        double before2 = tracker.score(2L);
+
+        tracker.prune();
+
+        assertThat(tracker.score(1L)).isCloseTo(before1, within(1e-9)).isCloseTo(2.0, within(1e-9));
+        assertThat(tracker.score(2L)).isCloseTo(before2, within(1e-9)).isCloseTo(1.0, within(1e-9));
+
+        // view setelah rescale dibandingkan dengan skala yang sama
+        clock.advance(HALF_LIFE);
+        views(2L, 10L, 1);
+        assertThat(tracker.score(1L)).isCloseTo(1.0, within(1e-9));
+        assertThat(tracker.score(2L)).isCloseTo(1.5, within(1e-9));
+        assertThat(tracker.topArticleIds(10L, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void pruneDropsStaleArticlesFromGlobalAndCategory() {
+        views(1L, 10L, 1);
+        views(2L, 20L, 1);
+        // 1 view jadi < 0.01 setelah 7 half-life
+        clock.advance(HALF_LIFE.multipliedBy(7));
+        views(2L, 20L, 1);
+
+        tracker.prune();
+
+        assertThat(tracker.score(1L)).isZero();
+        assertThat(tracker.topArticleIds(null, 10)).containsExactly(2L);
+        assertThat(tracker.topArticleIds(10L, 10)).isEmpty();
+        assertThat(tracker.topArticleIds(20L, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void longIdleTimeForcesRescaleBeforeWeightsOverflow() {
+        views(1L, 10L, 5);
+        // e^(lambda * t) akan melewati batas double tanpa rescale
+        clock.advance(HALF_LIFE.multipliedBy(2000));
+        views(2L, 10L, 1);
+
+        assertThat(tracker.score(2L)).isCloseTo(1.0, within(1e-9));
+        assertThat(tracker.score(1L)).isZero();
+        assertThat(tracker.topArticleIds(null, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void recordViewMovesArticleBetweenCategories() {
+        views(1L, 10L, 2);
+        views(2L, 10L, 1);
+
+        // artikel 1 diedit pindah kategori
+        tracker.recordView(1L, 20L);
+
+        assertThat(tracker.topArticleIds(10L, 10)).containsExactly(2L);
+        assertThat(tracker.topArticleIds(20L, 10)).containsExactly(1L);
+        assertThat(tracker.score(1L)).isCloseTo(3.0, within(1e-9));
+
+        tracker.recordView(1L, null);
+        assertThat(tracker.topArticleIds(20L, 10)).isEmpty();
+        assertThat(tracker.topArticleIds(null, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void removeDropsArticleEverywhere() {
+        views(1L, 10L, 1);
+        views(2L, 10L, 1);
+
+        tracker.remove(1L);
+
+        assertThat(tracker.topArticleIds(null, 10)).containsExactly(2L);
+        assertThat(tracker.topArticleIds(10L, 10)).containsExactly(2L);
+    }
+
+    private void views(Long articleId, Long categoryId, int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.recordView(articleId, categoryId);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.content.springboot_rest_api.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * countedViews dipakai response slug yang di-cache: angkanya tidak boleh turun saat counter flush.
+ */
+class ArticleViewCounterTests {
+
+    @Test
+    void countedViewsDoNotDropAfterFlush() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ArticleViewCounter counter = new ArticleViewCounter(jdbcTemplate);
+
+        counter.increment(1L);
+        counter.increment(1L);
+        assertThat(counter.countedViews(1L)).isEqualTo(2);
+
+        counter.flush();
+        assertThat(counter.pendingViews(1L)).isZero();
+        assertThat(counter.flushedViews(1L)).isEqualTo(2);
+        assertThat(counter.countedViews(1L)).isEqualTo(2);
+
+        counter.increment(1L);
+        assertThat(counter.countedViews(1L)).isEqualTo(3);
+    }
+
+    @Test
+    void failedFlushMovesViewsBackToPending() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+        ArticleViewCounter counter = new ArticleViewCounter(jdbcTemplate);
+
+        counter.increment(7L);
+        counter.flush();
+
+        assertThat(counter.pendingViews(7L)).isEqualTo(1);
+        assertThat(counter.flushedViews(7L)).isZero();
+        assertThat(counter.countedViews(7L)).isEqualTo(1);
+    }
+}
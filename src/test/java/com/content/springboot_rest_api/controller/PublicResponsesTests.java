@@ -0,0 +1,162 @@
+package com.content.springboot_rest_api.controller;
+
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Negosiasi Accept-Encoding response publik: q=0 menolak gzip, wildcard, ETag per varian, Vary juga di 304.
+ */
+class PublicResponsesTests {
+
+    private PublicResponseCache cache;
+    private PublicResponseCache.CachedResponse large;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublicResponseCache(new ObjectMapper());
+        // > GZIP_MIN_SIZE supaya ada varian gzip
+        large = cache.get("large", () -> IntStream.range(0, 200).mapToObj(i -> "article-" + i).toList());
+        PublicResponseCache.CachedResponse small = cache.get("small", () -> List.of("tiny"));
+        assertThat(large.gzipBody()).isNotNull();
+        assertThat(small.gzipBody()).isNull();
+        mockMvc = MockMvcBuilders.standaloneSetup(new PublicController(large, small)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void gzipIsServedWhenAccepted() throws Exception {
+        byte[] body = request("gzip, deflate, br")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, large.gzipEtag()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(body)).isEqualTo(large.body());
+    }
+
+    @Test
+    void gzipWithZeroQualityIsRefused() throws Exception {
+        expectIdentity(request("gzip;q=0"));
+        expectIdentity(request("gzip;q=0.0, deflate"));
+        expectIdentity(request("GZIP;Q=0"));
+        // gzip ditolak eksplisit, wildcard tidak berlaku untuk gzip
+        expectIdentity(request("gzip;q=0, *"));
+    }
+
+    @Test
+    void wildcardFollowsItsQuality() throws Exception {
+        expectIdentity(request("*;q=0"));
+        expectIdentity(request("br, *;q=0"));
+        request("*").andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        request("br, *;q=0.5").andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void identityOrMissingHeaderGetsPlainBody() throws Exception {
+        expectIdentity(request("identity"));
+        expectIdentity(mockMvc.perform(get("/large")));
+        expectIdentity(request(""));
+    }
+
+    @Test
+    void smallBodyHasNoGzipVariant() throws Exception {
+        mockMvc.perform(get("/small").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void gzipEtagDoesNotMatchPlainRepresentation() throws Exception {
+        // client plain mengirim ETag varian gzip (mis. dari cache bersama): harus dapat body penuh, bukan 304
+        expectIdentity(mockMvc.perform(get("/large").header(HttpHeaders.IF_NONE_MATCH, large.gzipEtag())));
+        // sebaliknya juga
+        mockMvc.perform(get("/large")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, large.etag()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void notModifiedPerVariantKeepsVary() throws Exception {
+        mockMvc.perform(get("/large")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, large.gzipEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, large.gzipEtag()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        mockMvc.perform(get("/large").header(HttpHeaders.IF_NONE_MATCH, large.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, large.etag()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private ResultActions request(String acceptEncoding) throws Exception {
+        return mockMvc.perform(get("/large").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding));
+    }
+
+    private void expectIdentity(ResultActions result) throws Exception {
+        byte[] body = result
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, large.etag()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).isEqualTo(large.body());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @RestController
+    static final class PublicController {
+        private final PublicResponseCache.CachedResponse large;
+        private final PublicResponseCache.CachedResponse small;
+
+        PublicController(PublicResponseCache.CachedResponse large, PublicResponseCache.CachedResponse small) {
+            this.large = large;
+            this.small = small;
+        }
+
+        @GetMapping("/large")
+        ResponseEntity<byte[]> large(WebRequest webRequest) {
+            return PublicResponses.write(webRequest, large);
+        }
+
+        @GetMapping("/small")
+        ResponseEntity<byte[]> small(WebRequest webRequest) {
+            return PublicResponses.write(webRequest, small);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.content.springboot_rest_api.controller;
+
+import com.content.springboot_rest_api.storage.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Range / If-Range / 416 dan conditional GET untuk file upload dari disk lokal.
+ */
+class UploadControllerTests {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String FILE_NAME = HASH + ".png";
+    private static final String ETAG = "\"" + HASH + "\"";
+    private static final Instant MODIFIED = Instant.parse("2025-06-01T10:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private BlobStore blobStore;
+    private UploadController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.writeString(dir.resolve(FILE_NAME), "0123456789");
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED));
+        blobStore = mock(BlobStore.class);
+        when(blobStore.presignGet(anyString(), any())).thenReturn(Optional.empty());
+        when(blobStore.localPath("thumbnails/" + FILE_NAME)).thenReturn(file);
+        controller = new UploadController(blobStore, 900);
+    }
+
+    @Test
+    void parseRangeHandlesClosedOpenAndSuffixRanges() {
+        assertThat(UploadController.parseRange("bytes=0-3", 10)).containsExactly(0, 3);
+        assertThat(UploadController.parseRange("bytes=4-", 10)).containsExactly(4, 9);
+        assertThat(UploadController.parseRange("bytes=-3", 10)).containsExactly(7, 9);
+        // ujung di luar ukuran file dipotong, suffix lebih panjang dari file = seluruh file
+        assertThat(UploadController.parseRange("bytes=5-100", 10)).containsExactly(5, 9);
+        assertThat(UploadController.parseRange("bytes=-100", 10)).containsExactly(0, 9);
+    }
+
+    @Test
+    void parseRangeIgnoresUnsupportedForms() {
+        assertThat(UploadController.parseRange("items=0-3", 10)).isEmpty();
+        assertThat(UploadController.parseRange("bytes=0-1,4-5", 10)).isEmpty();
+        assertThat(UploadController.parseRange("bytes=abc", 10)).isEmpty();
+        assertThat(UploadController.parseRange("bytes=x-3", 10)).isEmpty();
+        assertThat(UploadController.parseRange("bytes=5-2", 10)).isEmpty();
+    }
+
+    @Test
+    void parseRangeRejectsUnsatisfiableRanges() {
+        assertThat(UploadController.parseRange("bytes=10-", 10)).isNull();
+        assertThat(UploadController.parseRange("bytes=20-30", 10)).isNull();
+        assertThat(UploadController.parseRange("bytes=-0", 10)).isNull();
+        assertThat(UploadController.parseRange("bytes=-5", 0)).isNull();
+    }
+
+    @Test
+    void rangeReturnsPartialContent() throws IOException {
+        MockHttpServletResponse response = serve(request("bytes=2-5"));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416WithSize() throws IOException {
+        MockHttpServletResponse response = serve(request("bytes=50-"));
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void ifRangeWithCurrentEtagKeepsRange() throws IOException {
+        MockHttpServletRequest request = request("bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("01");
+    }
+
+    @Test
+    void ifRangeWithStaleValidatorSendsWholeFile() throws IOException {
+        MockHttpServletRequest staleEtag = request("bytes=0-1");
+        staleEtag.addHeader(HttpHeaders.IF_RANGE, "\"" + "b".repeat(64) + "\"");
+        MockHttpServletRequest weakEtag = request("bytes=0-1");
+        weakEtag.addHeader(HttpHeaders.IF_RANGE, "W/" + ETAG);
+        MockHttpServletRequest staleDate = request("bytes=0-1");
+        staleDate.addHeader(HttpHeaders.IF_RANGE, MODIFIED.minusSeconds(60).toEpochMilli());
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{staleEtag, weakEtag, staleDate}) {
+            MockHttpServletResponse response = serve(request);
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+            assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        }
+    }
+
+    @Test
+    void ifRangeWithCurrentDateKeepsRange() throws IOException {
+        MockHttpServletRequest request = request("bytes=8-");
+        request.addHeader(HttpHeaders.IF_RANGE, MODIFIED.toEpochMilli());
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("89");
+    }
+
+    @Test
+    void ifRangeDoesNotRescueUnsatisfiableRangeFromStaleValidator() throws IOException {
+        MockHttpServletRequest request = request("bytes=50-");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        MockHttpServletResponse response = serve(request);
+
+        // versi berubah: Range diabaikan, file dikirim utuh
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void ifNoneMatchReturnsNotModified() throws IOException {
+        MockHttpServletRequest request = request(null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void contentAddressedFileIsImmutable() throws IOException {
+        MockHttpServletResponse response = serve(request(null));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = request("bytes=0-3");
+        request.setMethod("HEAD");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void presignedBackendRedirects() throws IOException {
+        when(blobStore.presignGet(anyString(), any()))
+                .thenReturn(Optional.of(URI.create("https://bucket.example/thumbnails/" + FILE_NAME + "?X-Amz-Signature=x")));
+
+        MockHttpServletResponse response = serve(request("bytes=0-3"));
+
+        assertThat(response.getStatus()).isEqualTo(302);
+        assertThat(response.getRedirectedUrl()).startsWith("https://bucket.example/");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=450, private");
+    }
+
+    @Test
+    void unsafeFileNameIsNotFound() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serve("thumbnails", "..hidden", request(null), response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/photos/thumbnails/" + FILE_NAME);
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        controller.serve("thumbnails", FILE_NAME, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,234 @@
+package com.content.springboot_rest_api.controller;
+
+import com.content.springboot_rest_api.dto.UploadSessionDto;
+import com.content.springboot_rest_api.dto.UploadSessionReqDto;
+import com.content.springboot_rest_api.repository.UploadSessionRepository;
+import com.content.springboot_rest_api.service.UploadSessionService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.AbstractMockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT potongan upload tidak boleh memegang koneksi DB selama body dibaca (client lambat = pool habis).
+ * Upload tanpa login hanya lewat /api/uploads/photo-sessions, dengan kuota per IP.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:uploadsession;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.search.rebuild-on-startup=false",
+        "app.search.index-dir=",
+        "app.related.rebuild-on-startup=false",
+        "app.upload.session-dir=target/test-upload-sessions",
+        "app.upload.anonymous.max-sessions-per-ip=3",
+        "app.upload.anonymous.max-bytes-per-ip=5000"
+})
+@AutoConfigureMockMvc
+class UploadSessionControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private UploadSessionRepository sessionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void appendChunkHoldsNoConnectionWhileReadingBody() throws Exception {
+        UploadSessionDto session = uploadSessionService.createSession(
+                new UploadSessionReqDto("user_photo", "photo.png", "image/png", 1000L), "127.0.0.1");
+        List<Integer> activeDuringRead = new ArrayList<>();
+        List<Boolean> transactionDuringRead = new ArrayList<>();
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        mockMvc.perform(new ObservedBodyRequest("/api/uploads/photo-sessions/" + session.getUploadId(), new byte[600], () -> {
+                    activeDuringRead.add(hikari.getHikariPoolMXBean().getActiveConnections());
+                    transactionDuringRead.add(TransactionSynchronizationManager.isActualTransactionActive());
+                })
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 0-599/1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offset").value(600));
+
+        assertThat(activeDuringRead).isNotEmpty().containsOnly(0);
+        assertThat(transactionDuringRead).containsOnly(false);
+    }
+
+    @Test
+    void instanceWithoutPartFileResumesFromItsOwnOffset() throws Exception {
+        UploadSessionDto session = uploadSessionService.createSession(
+                new UploadSessionReqDto("user_photo", "photo.png", "image/png", 1000L), "127.0.0.1");
+        String uri = "/api/uploads/photo-sessions/" + session.getUploadId();
+        mockMvc.perform(put(uri).contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 0-599/1000").content(new byte[600]))
+                .andExpect(status().isOk());
+
+        // potongan berikutnya sampai di instance lain (tidak sticky): .part tidak ada di sana
+        Files.delete(Path.of("target/test-upload-sessions", session.getUploadId() + ".part"));
+
+        mockMvc.perform(put(uri).contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 600-999/1000").content(new byte[400]))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Expected upload offset 0"));
+        mockMvc.perform(get(uri)).andExpect(jsonPath("$.offset").value(0));
+        mockMvc.perform(post(uri + "/complete")).andExpect(status().isConflict());
+    }
+
+    @Test
+    void anonymousClientCannotUseThumbnailSessions() throws Exception {
+        UploadSessionDto session = uploadSessionService.createSession(
+                new UploadSessionReqDto("user_photo", "photo.png", "image/png", 1000L), "127.0.0.1");
+
+        mockMvc.perform(post("/api/uploads/sessions").contentType(MediaType.APPLICATION_JSON).content(request("thumbnail", 1000)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/uploads/sessions").contentType(MediaType.APPLICATION_JSON).content(request("user_photo", 1000)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/uploads/sessions/" + session.getUploadId()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/uploads/photo-sessions").contentType(MediaType.APPLICATION_JSON).content(request("thumbnail", 1000)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void anonymousSessionsAreCappedPerClientIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createPhotoSession("10.0.0.1", 1000).andExpect(status().isCreated());
+        }
+        createPhotoSession("10.0.0.1", 1000)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value("Too many open uploads, finish or wait for existing uploads to expire"));
+
+        // IP lain punya kuota sendiri
+        createPhotoSession("10.0.0.2", 1000).andExpect(status().isCreated());
+    }
+
+    @Test
+    void anonymousStagedBytesAreCappedPerClientIp() throws Exception {
+        createPhotoSession("10.0.0.3", 3000).andExpect(status().isCreated());
+        createPhotoSession("10.0.0.3", 2001)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value("Upload quota exceeded, finish or wait for existing uploads to expire"));
+        createPhotoSession("10.0.0.3", 2000).andExpect(status().isCreated());
+    }
+
+    @Test
+    void expiredAnonymousSessionsFreeTheQuota() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createPhotoSession("10.0.0.4", 1000).andExpect(status().isCreated());
+        }
+        sessionRepository.findAll().forEach(session -> {
+            session.setExpiresAt(session.getExpiresAt().minusDays(2));
+            sessionRepository.save(session);
+        });
+
+        createPhotoSession("10.0.0.4", 1000).andExpect(status().isCreated());
+    }
+
+    private ResultActions createPhotoSession(String ip, long size) throws Exception {
+        return mockMvc.perform(post("/api/uploads/photo-sessions")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request("user_photo", size)));
+    }
+
+    private static String request(String kind, long size) {
+        return """
+                {"kind": "%s", "file_name": "photo.png", "content_type": "image/png", "size": %d}
+                """.formatted(kind, size);
+    }
+
+    // request PUT yang memanggil probe setiap kali body dibaca
+    private static final class ObservedBodyRequest extends AbstractMockHttpServletRequestBuilder<ObservedBodyRequest> {
+        private final byte[] body;
+        private final Runnable probe;
+
+        ObservedBodyRequest(String uri, byte[] body, Runnable probe) {
+            super(HttpMethod.PUT);
+            uri(uri);
+            this.body = body;
+            this.probe = probe;
+        }
+
+        @Override
+        protected MockHttpServletRequest createServletRequest(ServletContext servletContext) {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new MockHttpServletRequest(servletContext) {
+                @Override
+                public ServletInputStream getInputStream() {
+                    return new ServletInputStream() {
+                        @Override
+                        public int read() {
+                            probe.run();
+                            return input.read();
+                        }
+
+                        @Override
+                        public int read(byte[] buffer, int offset, int length) {
+                            probe.run();
+                            return input.read(buffer, offset, length);
+                        }
+
+                        @Override
+                        public boolean isFinished() {
+                            return input.available() == 0;
+                        }
+
+                        @Override
+                        public boolean isReady() {
+                            return true;
+                        }
+
+                        @Override
+                        public void setReadListener(ReadListener readListener) {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
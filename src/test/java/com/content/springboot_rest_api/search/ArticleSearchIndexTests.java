@@ -0,0 +1,165 @@
+package com.content.springboot_rest_api.search;
+
+import com.content.springboot_rest_api.dto.ArticleSearchHitDto;
+import com.content.springboot_rest_api.dto.SearchPageDto;
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Category;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.entity.User;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Index Lucene artikel: ranking per field, snippet dari content DB, update incremental & rebuild.
+ */
+class ArticleSearchIndexTests {
+
+    private final Map<Long, Article> articles = new LinkedHashMap<>();
+    private ArticlesRepository articlesRepository;
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        articlesRepository = mock(ArticlesRepository.class);
+        when(articlesRepository.findContentRowsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(articles::get).filter(Objects::nonNull).map(ArticleSearchIndexTests::contentRow).toList();
+        });
+        when(articlesRepository.findByAuthCodeAndIdGreaterThanOrderByIdAsc(eq("A"), anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(1);
+                    int max = ((Limit) invocation.getArgument(2)).max();
+                    return articles.values().stream().filter(a -> a.getId() > after).limit(max).toList();
+                });
+        index = new ArticleSearchIndex(articlesRepository, mock(PlatformTransactionManager.class),
+                new SyncTaskExecutor(), "", false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() {
+        index.indexAfterCommit(article(1L, "Belajar Docker", "<p>Panduan <b>kubernetes</b> untuk pemula</p>", "devops"));
+        index.indexAfterCommit(article(2L, "Kubernetes dari nol", "<p>Cluster pertama</p>", "cloud"));
+
+        SearchPageDto<ArticleSearchHitDto> result = index.search("kubernetes", 0, 10);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(ArticleSearchHitDto::getId).containsExactly(2L, 1L);
+        ArticleSearchHitDto contentHit = result.getItems().get(1);
+        assertThat(contentHit.getSnippet()).contains("<em>kubernetes</em>").doesNotContain("<b>");
+        assertThat(contentHit.getTagNames()).containsExactly("devops");
+        assertThat(contentHit.getSlug()).isEqualTo("article-1");
+    }
+
+    @Test
+    void snippetEscapesHtmlFromContent() {
+        index.indexAfterCommit(article(1L, "Escaping", "<p>a &lt;script&gt; tag near spring</p>", "web"));
+
+        ArticleSearchHitDto hit = index.search("spring", 0, 10).getItems().get(0);
+
+        assertThat(hit.getSnippet()).contains("&lt;script&gt;").contains("<em>spring</em>").doesNotContain("<script>");
+    }
+
+    @Test
+    void removeAndUpdateAreVisibleImmediately() {
+        index.indexAfterCommit(article(1L, "Java records", "isi", "java"));
+        assertThat(index.search("records", 0, 10).getTotal()).isEqualTo(1);
+
+        index.indexAfterCommit(article(1L, "Java sealed classes", "isi", "java"));
+        assertThat(index.search("records", 0, 10).getTotal()).isZero();
+        assertThat(index.search("sealed", 0, 10).getTotal()).isEqualTo(1);
+
+        index.removeAfterCommit(1L);
+        assertThat(index.search("sealed", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void pagesSkipEarlierHits() {
+        for (long id = 1; id <= 5; id++) {
+            index.indexAfterCommit(article(id, "Spring tips " + id, "isi", "spring"));
+        }
+
+        SearchPageDto<ArticleSearchHitDto> second = index.search("spring", 1, 2);
+
+        assertThat(second.getTotal()).isEqualTo(5);
+        assertThat(second.getItems()).hasSize(2);
+    }
+
+    @Test
+    void rebuildLoadsApprovedArticlesFromRepository() {
+        index.indexAfterCommit(article(99L, "Stale article", "isi", "old"));
+        articles.clear();
+        article(1L, "Fresh article", "isi", "new");
+        article(2L, "Another fresh article", "isi", "new");
+
+        assertThat(index.rebuild()).isEqualTo(2);
+        assertThat(index.search("stale", 0, 10).getTotal()).isZero();
+        assertThat(index.search("fresh", 0, 10).getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void queryWithoutTermsIsRejected() {
+        assertThatThrownBy(() -> index.search(" !? ", 0, 10))
+                .isInstanceOf(GlobalAPIException.class)
+                .extracting(e -> ((GlobalAPIException) e).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private Article article(Long id, String title, String content, String tagName) {
+        User author = new User();
+        author.setFullName("Author " + id);
+        Category category = new Category();
+        category.setName("Teknologi");
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(tagName);
+
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setSlug("article-" + id);
+        article.setContent(content);
+        article.setAuthCode("A");
+        article.setAuthor(author);
+        article.setCategory(category);
+        article.setTags(new HashSet<>(Set.of(tag)));
+        article.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(id));
+        articles.put(id, article);
+        return article;
+    }
+
+    private static ArticlesRepository.ContentRow contentRow(Article article) {
+        return new ArticlesRepository.ContentRow() {
+            @Override
+            public Long getId() {
+                return article.getId();
+            }
+
+            @Override
+            public String getContent() {
+                return article.getContent();
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.content.springboot_rest_api.search;
+
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Category;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Related articles: skor tag / kategori, update di background yang digabung per artikel, stop-tag.
+ */
+class RelatedArticlesIndexTests {
+
+    private final QueuedExecutor executor = new QueuedExecutor();
+    private final ArticlesRepository articlesRepository = mock(ArticlesRepository.class);
+
+    @Test
+    void ranksBySharedTagsAndCategory() {
+        RelatedArticlesIndex index = index(500);
+        index.putAfterCommit(article(1L, 10L, 100L, 101L));
+        index.putAfterCommit(article(2L, 10L, 100L, 101L));
+        index.putAfterCommit(article(3L, 20L, 100L));
+        index.putAfterCommit(article(4L, 20L, 300L));
+        executor.runAll();
+
+        assertThat(index.relatedIds(1L)).containsExactly(2L, 3L);
+        // tag bersama lebih berat dari bonus kategori saja
+        assertThat(index.relatedIds(3L)).containsExactly(2L, 1L, 4L);
+        assertThat(index.relatedIds(4L)).containsExactly(3L);
+    }
+
+    @Test
+    void updatesRunOnExecutorNotOnCaller() {
+        RelatedArticlesIndex index = index(500);
+        index.putAfterCommit(article(1L, 10L, 100L));
+        index.putAfterCommit(article(2L, 10L, 100L));
+
+        // request approve sudah selesai, graph belum disentuh
+        assertThat(index.relatedIds(1L)).isEmpty();
+        assertThat(executor.queued).hasSize(1);
+
+        executor.runAll();
+        assertThat(index.relatedIds(1L)).containsExactly(2L);
+    }
+
+    @Test
+    void changesForSameArticleAreCoalesced() {
+        RelatedArticlesIndex index = index(500);
+        index.putAfterCommit(article(1L, 10L, 100L));
+        index.putAfterCommit(article(2L, 20L, 200L));
+        executor.runAll();
+
+        // edit lalu reject sebelum worker jalan: hanya remove yang diterapkan
+        index.putAfterCommit(article(3L, 10L, 100L));
+        index.putAfterCommit(article(3L, 20L, 200L));
+        index.removeAfterCommit(3L);
+        // edit beruntun: hanya versi terakhir
+        index.putAfterCommit(article(4L, 10L, 100L));
+        index.putAfterCommit(article(4L, 20L, 200L));
+        assertThat(executor.queued).hasSize(1);
+        executor.runAll();
+
+        assertThat(index.relatedIds(3L)).isEmpty();
+        assertThat(index.relatedIds(1L)).isEmpty();
+        assertThat(index.relatedIds(2L)).containsExactly(4L);
+        assertThat(index.relatedIds(4L)).containsExactly(2L);
+    }
+
+    @Test
+    void stopTagsDoNotProduceCandidates() {
+        RelatedArticlesIndex index = index(2);
+        // tag 900 dipakai 3 artikel (> 2): tidak dipakai mencari kandidat
+        index.putAfterCommit(article(1L, 10L, 900L, 100L));
+        index.putAfterCommit(article(2L, 20L, 900L, 100L));
+        index.putAfterCommit(article(3L, 30L, 900L));
+        executor.runAll();
+
+        assertThat(index.relatedIds(1L)).containsExactly(2L);
+        assertThat(index.relatedIds(2L)).containsExactly(1L);
+        assertThat(index.relatedIds(3L)).isEmpty();
+    }
+
+    @Test
+    void rebuildLoadsApprovedArticles() {
+        when(articlesRepository.findCategoryRowsByAuthCode("A")).thenReturn(List.of(
+                new Object[]{1L, 10L}, new Object[]{2L, 10L}, new Object[]{3L, 20L}));
+        when(articlesRepository.findTagRowsByAuthCode("A")).thenReturn(List.of(
+                new Object[]{1L, 100L}, new Object[]{2L, 100L}, new Object[]{3L, 300L}));
+        RelatedArticlesIndex index = index(500);
+
+        index.rebuild();
+
+        assertThat(index.relatedIds(1L)).containsExactly(2L);
+        assertThat(index.relatedIds(3L)).isEmpty();
+    }
+
+    private RelatedArticlesIndex index(int maxTagArticles) {
+        return new RelatedArticlesIndex(articlesRepository, mock(PlatformTransactionManager.class),
+                executor, 10, maxTagArticles, false);
+    }
+
+    private static Article article(Long id, Long categoryId, Long... tagIds) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Set<Tag> tags = new HashSet<>();
+        for (Long tagId : tagIds) {
+            Tag tag = new Tag();
+            tag.setId(tagId);
+            tags.add(tag);
+        }
+        Article article = new Article();
+        article.setId(id);
+        article.setCategory(category);
+        article.setTags(tags);
+        return article;
+    }
+
+    // task dijalankan manual, supaya test bisa melihat keadaan sebelum worker jalan
+    private static final class QueuedExecutor implements TaskExecutor {
+        private final Deque<Runnable> queued = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            queued.add(task);
+        }
+
+        void runAll() {
+            while (!queued.isEmpty()) {
+                queued.poll().run();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.content.springboot_rest_api.service;
+
+import com.content.springboot_rest_api.dto.ArticleImportErrorDto;
+import com.content.springboot_rest_api.dto.ArticleImportResultDto;
+import com.content.springboot_rest_api.entity.Article;
+import com.content.springboot_rest_api.entity.Tag;
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Import artikel ke H2: chunk insert, rollback per chunk, slug ganda, dan id baru yang tetap
+ * di atas id data lama (legacy-articles.sql dimuat sebelum IdSequenceAligner jalan).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:articleimport;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.data-locations=classpath:legacy-articles.sql",
+        "app.search.rebuild-on-startup=false",
+        "app.search.index-dir=",
+        "app.related.rebuild-on-startup=false"
+})
+class ArticleImportTests {
+
+    private static final long LEGACY_ARTICLE_ID = 5000L;
+
+    @Autowired
+    private ArticleImportService articleImportService;
+
+    @Autowired
+    private ArticlesRepository articlesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM article_tags WHERE article_id <> ?", LEGACY_ARTICLE_ID);
+        jdbcTemplate.update("DELETE FROM articles WHERE id <> ?", LEGACY_ARTICLE_ID);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("importer", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void csvImportKeepsQuotedContentAndTags() throws IOException {
+        String csv = "title,slug,content,category_slug,tag_slugs\r\n"
+                + "\"Hello, CSV\",hello-csv,\"line 1\r\nline \"\"2\"\"\",java,spring|jpa\r\n"
+                + "Plain,,plain content,java,\r\n";
+
+        ArticleImportResultDto result = importCsv(csv);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        Article quoted = articlesRepository.findBySlug("hello-csv").orElseThrow();
+        assertThat(quoted.getTitle()).isEqualTo("Hello, CSV");
+        assertThat(quoted.getContent()).isEqualTo("line 1\r\nline \"2\"");
+        assertThat(quoted.getAuthCode()).isEqualTo("A");
+        assertThat(quoted.getTags()).extracting(Tag::getSlug).containsExactlyInAnyOrder("spring", "jpa");
+        // slug kosong dibuat dari title
+        assertThat(articlesRepository.findBySlug("plain")).isPresent();
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLine() throws IOException {
+        String ndjson = String.join("\n",
+                row("First", "first", "java"),
+                row("Again", "first", "java"),
+                row("Clash", "legacy-article", "java"),
+                row("No category", "no-category", "nope"),
+                "{\"title\":\"No tag\",\"content\":\"c\",\"category_slug\":\"java\",\"tag_slugs\":[\"nope\"]}",
+                "{broken",
+                "",
+                "{\"content\":\"c\",\"category_slug\":\"java\"}");
+
+        ArticleImportResultDto result = importNdjson(ndjson);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(6);
+        assertThat(result.getErrors()).extracting(ArticleImportErrorDto::getLine)
+                .containsExactly(2L, 4L, 5L, 6L, 8L, 3L);
+        assertThat(result.getErrors()).extracting(ArticleImportErrorDto::getMessage)
+                .contains("Duplicate slug in import: first",
+                        "Category not found with slug : nope",
+                        "Tag not found with slug : nope",
+                        "title cannot be empty",
+                        "Slug already exists: legacy-article");
+        assertThat(result.getErrors().get(3).getMessage()).startsWith("Invalid JSON");
+        assertThat(articlesRepository.findBySlug("first")).isPresent();
+        assertThat(articlesRepository.findById(LEGACY_ARTICLE_ID).orElseThrow().getTitle()).isEqualTo("Legacy article");
+    }
+
+    @Test
+    void failedChunkRollsBackOnlyThatChunk() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            ndjson.append(row("Bulk " + i, "bulk-" + i, "java")).append('\n');
+        }
+        // title melebihi kolom VARCHAR(255): INSERT chunk kedua gagal di DB
+        ndjson.append(row("x".repeat(300), "too-long", "java")).append('\n');
+        ndjson.append(row("After bad", "after-bad", "java")).append('\n');
+
+        ArticleImportResultDto result = importNdjson(ndjson.toString());
+
+        assertThat(result.getImported()).isEqualTo(500);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ArticleImportErrorDto::getLine).containsExactly(501L, 502L);
+        assertThat(result.getErrors()).allSatisfy(error -> assertThat(error.getMessage()).startsWith("Chunk rolled back"));
+        assertThat(articlesRepository.count()).isEqualTo(501);
+        assertThat(articlesRepository.findBySlug("bulk-499")).isPresent();
+        assertThat(articlesRepository.findBySlug("after-bad")).isEmpty();
+    }
+
+    @Test
+    void importedIdsStayPastLegacyRows() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        // lebih dari satu blok alokasi pooled sequence
+        for (int i = 0; i < 120; i++) {
+            ndjson.append(row("Fresh " + i, "fresh-" + i, "java")).append('\n');
+        }
+
+        ArticleImportResultDto result = importNdjson(ndjson.toString());
+
+        assertThat(result.getImported()).isEqualTo(120);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM articles WHERE id <> ?", Long.class, LEGACY_ARTICLE_ID);
+        assertThat(ids).hasSize(120).doesNotHaveDuplicates().allSatisfy(id -> assertThat(id).isGreaterThan(LEGACY_ARTICLE_ID));
+    }
+
+    private ArticleImportResultDto importCsv(String body) throws IOException {
+        return articleImportService.importArticles(stream(body), ArticleImportService.Format.CSV);
+    }
+
+    private ArticleImportResultDto importNdjson(String body) throws IOException {
+        return articleImportService.importArticles(stream(body), ArticleImportService.Format.NDJSON);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String row(String title, String slug, String categorySlug) {
+        return """
+                {"title":"%s","slug":"%s","content":"content of %s","category_slug":"%s"}""".formatted(title, slug, slug, categorySlug);
+    }
+}
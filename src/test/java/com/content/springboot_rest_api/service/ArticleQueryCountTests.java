@@ -0,0 +1,211 @@
+package com.content.springboot_rest_api.service;
+
+import com.content.springboot_rest_api.dto.ArticleSummaryDto;
+import com.content.springboot_rest_api.dto.CursorPageDto;
+import com.content.springboot_rest_api.entity.*;
+import com.content.springboot_rest_api.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Jaga supaya endpoint artikel tidak kena N+1 lagi:
+ * jumlah SQL statement harus tetap walaupun jumlah artikel/tag bertambah.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.search.rebuild-on-startup=false",
+        "app.search.index-dir=",
+        "app.related.rebuild-on-startup=false"
+})
+class ArticleQueryCountTests {
+
+    private static final int ARTICLE_COUNT = 10;
+    private static final int TAGS_PER_ARTICLE = 3;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private ArticlesRepository articlesRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Article firstArticle;
+
+    @BeforeEach
+    void setUp() {
+        articlesRepository.deleteAll();
+        tagRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        role = roleRepository.save(role);
+
+        User author = new User();
+        author.setFullName("Writer");
+        author.setUsername("writer");
+        author.setPassword("secret");
+        author.setEmail("writer@example.com");
+        author.setPhone("081234567890");
+        author.setBirthDate(LocalDate.of(1990, 1, 1));
+        author.setJobTitle("Engineer");
+        author.setLocation("Jakarta");
+        author.setRoles(new HashSet<>(Set.of(role)));
+        author = userRepository.save(author);
+
+        Category category = new Category();
+        category.setName("Java");
+        category.setSlug("java");
+        category = categoryRepository.save(category);
+
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < TAGS_PER_ARTICLE; i++) {
+            Tag tag = new Tag();
+            tag.setName("Tag " + i);
+            tag.setSlug("tag-" + i);
+            tags.add(tagRepository.save(tag));
+        }
+
+        for (int i = 0; i < ARTICLE_COUNT; i++) {
+            Article article = new Article();
+            article.setTitle("Article " + i);
+            article.setSlug("article-" + i);
+            article.setContent("content " + i);
+            article.setAuthCode("A");
+            article.setActionCode("A");
+            article.setAuthor(author);
+            article.setCategory(category);
+            article.setTags(new HashSet<>(tags));
+            article.setCreatedBy(author.getUsername());
+            Article saved = articlesRepository.save(article);
+            if (firstArticle == null) {
+                firstArticle = saved;
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        firstArticle = null;
+    }
+
+    @Test
+    void getArticleByIdFetchesAssociationsInOneQuery() {
+        // 1 query entity graph (author+roles, category, tags)
+        assertThat(countStatements(() -> articleService.getArticleById(firstArticle.getId())))
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getArticleBySlugFetchesAssociationsInOneQuery() {
+        assertThat(countStatements(() -> articleService.getArticleBySlug(firstArticle.getSlug())))
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getAllArticleUsesSingleQueryPerPage() {
+        assertThat(countStatements(() -> articleService.getAllArticle(null, ARTICLE_COUNT)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void getApprovedArticlesUsesSingleQueryPerPage() {
+        assertThat(countStatements(() -> articleService.getApprovedArticles(null, ARTICLE_COUNT)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cursorPagesCoverEveryArticleOnce() {
+        List<Long> seen = new ArrayList<>();
+        List<CursorPageDto<ArticleSummaryDto>> page = new ArrayList<>(List.of(articleService.getAllArticle(null, 3)));
+        int pages = 1;
+        while (true) {
+            page.get(0).getItems().forEach(article -> seen.add(article.getId()));
+            String next = page.get(0).getNext();
+            if (next == null) {
+                break;
+            }
+            // halaman lanjutan (dengan cursor) tetap 1 query
+            assertThat(countStatements(() -> page.set(0, articleService.getAllArticle(next, 3)))).isEqualTo(1);
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(seen).hasSize(ARTICLE_COUNT).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void getArticlesByCurrentUserDoesNotGrowWithArticleCount() {
+        // lookup user (+ eager roles) lalu 1 query projection
+        assertThat(countStatements(() -> articleService.getArticlesByCurrentUser()))
+                .isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void getArticlesByCategorySlugDoesNotGrowWithArticleCount() {
+        assertThat(countStatements(() -> categoryService.getArticlesByCategorySlug("java")))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void getArticlesByTagSlugDoesNotGrowWithArticleCount() {
+        assertThat(countStatements(() -> tagService.getArticlesByTagSlug("tag-0")))
+                .isEqualTo(2);
+    }
+
+    private long countStatements(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cursor keyset pagination artikel: base64url("created_at|id") bolak-balik tanpa kehilangan presisi.
+ */
+class ArticleCursorTests {
+
+    @Test
+    void roundTripKeepsNanosecondsAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 9, 14, 5, 7, 123_456_789);
+
+        ArticleServiceImpl.Cursor cursor = ArticleServiceImpl.decodeCursor(ArticleServiceImpl.encodeCursor(createdAt, 42L));
+
+        assertThat(cursor).isEqualTo(new ArticleServiceImpl.Cursor(createdAt, 42L));
+    }
+
+    @Test
+    void roundTripKeepsWholeMinutes() {
+        // LocalDateTime.toString membuang detik nol ("2025-01-01T00:00")
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertThat(ArticleServiceImpl.decodeCursor(ArticleServiceImpl.encodeCursor(createdAt, Long.MAX_VALUE)))
+                .isEqualTo(new ArticleServiceImpl.Cursor(createdAt, Long.MAX_VALUE));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafeWithoutPadding() {
+        for (long id = 1; id < 200; id++) {
+            String cursor = ArticleServiceImpl.encodeCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_000_000), id);
+            assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        }
+    }
+
+    @Test
+    void invalidCursorsAreBadRequests() {
+        for (String cursor : new String[]{
+                "not base64!",
+                encode("2025-01-01T00:00"),
+                encode("yesterday|5"),
+                encode("2025-01-01T00:00|five"),
+                encode("|5"),
+                encode("2025-01-01T00:00|")}) {
+            assertThatThrownBy(() -> ArticleServiceImpl.decodeCursor(cursor))
+                    .as(cursor)
+                    .isInstanceOf(GlobalAPIException.class)
+                    .hasMessage("Invalid cursor")
+                    .extracting(e -> ((GlobalAPIException) e).getStatus())
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.cache.ArticleSlugCache;
+import com.content.springboot_rest_api.cache.PublicResponseCache;
+import com.content.springboot_rest_api.component.ArticleTrendingTracker;
+import com.content.springboot_rest_api.component.ArticleViewCounter;
+import com.content.springboot_rest_api.component.ThumbnailRenditionGenerator;
+import com.content.springboot_rest_api.dto.SearchPageDto;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.mapper.ArticleMapper;
+import com.content.springboot_rest_api.repository.*;
+import com.content.springboot_rest_api.search.ArticleSearchIndex;
+import com.content.springboot_rest_api.search.RelatedArticlesIndex;
+import com.content.springboot_rest_api.service.UploadSessionService;
+import com.content.springboot_rest_api.storage.UploadInspector;
+import com.content.springboot_rest_api.storage.UploadStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Paging pencarian publik: page besar dijawab 400, tidak sampai ke Lucene (overflow jumlah hit).
+ */
+class ArticleSearchPagingTests {
+
+    private ArticleSearchIndex searchIndex;
+    private ArticleServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = mock(ArticleSearchIndex.class);
+        when(searchIndex.search(anyString(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> new SearchPageDto<>(invocation.getArgument(0), List.of(),
+                        invocation.getArgument(1), invocation.getArgument(2), 0));
+        service = new ArticleServiceImpl(mock(UserRepository.class), mock(CategoryRepository.class),
+                mock(ArticlesRepository.class), mock(TagRepository.class), mock(CommentRepository.class),
+                new ArticleMapper(), mock(ArticleViewCounter.class), mock(ArticleSlugCache.class),
+                mock(PublicResponseCache.class), searchIndex, mock(ArticleTrendingTracker.class),
+                mock(RelatedArticlesIndex.class), mock(ThumbnailRenditionGenerator.class), mock(UploadStorage.class),
+                mock(UploadInspector.class), mock(UploadSessionService.class), new ObjectMapper(),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void lastPageInsideWindowIsSearched() {
+        service.searchArticles("java", 199, 50);
+
+        verify(searchIndex).search("java", 199, 50);
+    }
+
+    @Test
+    void pagePastWindowIsRejected() {
+        assertBadRequest(200, 50);
+        assertBadRequest(10_000, 1);
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void overflowingPageIsRejected() {
+        // (page + 1) * size overflow int jadi negatif
+        assertBadRequest(Integer.MAX_VALUE, 50);
+        assertBadRequest(Integer.MAX_VALUE / 25, 50);
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void invalidPageAndSizeAreRejected() {
+        assertBadRequest(-1, 10);
+        assertBadRequest(0, 0);
+        assertBadRequest(0, 51);
+        verifyNoInteractions(searchIndex);
+    }
+
+    private void assertBadRequest(int page, int size) {
+        assertThatThrownBy(() -> service.searchArticles("java", page, size))
+                .isInstanceOfSatisfying(GlobalAPIException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,100 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parser CSV import (RFC 4180): quote, escape "", newline di dalam field, CRLF, nomor baris record.
+ */
+class CsvReaderTests {
+
+    @Test
+    void splitsPlainRecords() throws IOException {
+        assertThat(readAll("title,content\nHello,World\n"))
+                .containsExactly(List.of("title", "content"), List.of("Hello", "World"));
+    }
+
+    @Test
+    void lastRecordWithoutTrailingNewline() throws IOException {
+        assertThat(readAll("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll(",x,\n")).containsExactly(List.of("", "x", ""));
+        assertThat(readAll("\n")).containsExactly(List.of(""));
+    }
+
+    @Test
+    void quotedFieldMayContainCommasAndNewlines() throws IOException {
+        assertThat(readAll("\"Hello, World\",\"line 1\nline 2\",plain\n"))
+                .containsExactly(List.of("Hello, World", "line 1\nline 2", "plain"));
+    }
+
+    @Test
+    void doubledQuoteIsEscapedQuote() throws IOException {
+        assertThat(readAll("\"say \"\"hi\"\"\",\"\"\"\",\"\"\n"))
+                .containsExactly(List.of("say \"hi\"", "\"", ""));
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        assertThat(readAll("5\" screen,x\n")).containsExactly(List.of("5\" screen", "x"));
+    }
+
+    @Test
+    void crlfLineEndingsAreStripped() throws IOException {
+        assertThat(readAll("a,b\r\nc,\"d\r\ne\"\r\n"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d\r\ne"));
+    }
+
+    @Test
+    void recordLineIsWhereRecordStarts() throws IOException {
+        ArticleImportServiceImpl.CsvReader csv = reader("h\n\"multi\nline\"\nnext\n");
+
+        csv.next();
+        assertThat(csv.recordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("multi\nline");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("next");
+        assertThat(csv.recordLine()).isEqualTo(4);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteIsBadRequest() {
+        assertThatThrownBy(() -> readAll("title\nok\n\"never closed,\nstill open\n"))
+                .isInstanceOfSatisfying(GlobalAPIException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(e.getMessage()).isEqualTo("Unterminated quoted CSV field starting at line 3");
+                });
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        ArticleImportServiceImpl.CsvReader csv = reader(input);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static ArticleImportServiceImpl.CsvReader reader(String input) {
+        return new ArticleImportServiceImpl.CsvReader(new StringReader(input));
+    }
+}
@@ -0,0 +1,125 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.dto.RoleDto;
+import com.content.springboot_rest_api.dto.UserSummaryDto;
+import com.content.springboot_rest_api.entity.Role;
+import com.content.springboot_rest_api.entity.User;
+import com.content.springboot_rest_api.repository.RoleRepository;
+import com.content.springboot_rest_api.repository.UserRepository;
+import com.content.springboot_rest_api.service.RoleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * open-in-view mati: role.users (LAZY) harus sudah terbaca sebelum service mengembalikan DTO.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roleservice;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.search.rebuild-on-startup=false",
+        "app.search.index-dir=",
+        "app.related.rebuild-on-startup=false"
+})
+class RoleServiceImplTests {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private Role adminRole;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        adminRole = new Role();
+        adminRole.setName("ROLE_ADMIN");
+        adminRole = roleRepository.save(adminRole);
+
+        Role userRole = new Role();
+        userRole.setName("ROLE_USER");
+        userRole = roleRepository.save(userRole);
+
+        saveUser("alice", Set.of(adminRole, userRole));
+        saveUser("bob", Set.of(userRole));
+    }
+
+    @Test
+    void getAllRolesReadsUsersWithoutOpenSession() {
+        assertThat(openInView).isFalse();
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+
+        List<RoleDto> roles = roleService.getAllRoles();
+
+        assertThat(roles).extracting(RoleDto::getName).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        RoleDto user = roles.stream().filter(r -> r.getName().equals("ROLE_USER")).findFirst().orElseThrow();
+        assertThat(user.getUsers()).extracting(UserSummaryDto::getUsername).containsExactlyInAnyOrder("alice", "bob");
+    }
+
+    @Test
+    void getRoleByIdReadsUsersWithoutOpenSession() {
+        RoleDto role = roleService.getRoleById(adminRole.getId());
+
+        assertThat(role.getUsers()).extracting(UserSummaryDto::getUsername).containsExactly("alice");
+    }
+
+    @Test
+    void updateRoleReturnsUsers() {
+        RoleDto req = new RoleDto();
+        req.setName("ROLE_SUPERADMIN");
+
+        RoleDto updated = roleService.updateRole(adminRole.getId(), req);
+
+        assertThat(updated.getName()).isEqualTo("ROLE_SUPERADMIN");
+        assertThat(updated.getUsers()).extracting(UserSummaryDto::getUsername).containsExactly("alice");
+    }
+
+    @Test
+    void createRoleReturnsEmptyUsers() {
+        RoleDto req = new RoleDto();
+        req.setName("ROLE_EDITOR");
+
+        RoleDto created = roleService.createRole(req);
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getUsers()).isEmpty();
+    }
+
+    private void saveUser(String username, Set<Role> roles) {
+        User user = new User();
+        user.setFullName(username);
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setEmail(username + "@example.com");
+        user.setPhone("081234567890");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setJobTitle("Engineer");
+        user.setLocation("Jakarta");
+        user.setRoles(new HashSet<>(roles));
+        userRepository.save(user);
+    }
+}
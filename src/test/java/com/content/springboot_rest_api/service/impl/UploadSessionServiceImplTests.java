@@ -0,0 +1,199 @@
+package com.content.springboot_rest_api.service.impl;
+
+import com.content.springboot_rest_api.dto.UploadSessionDto;
+import com.content.springboot_rest_api.entity.UploadSession;
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.repository.UploadSessionRepository;
+import com.content.springboot_rest_api.storage.UploadInspector;
+import com.content.springboot_rest_api.storage.UploadStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Content-Range & lanjut upload dari offset: potongan yang putus, diulang, atau bolong.
+ */
+class UploadSessionServiceImplTests {
+
+    private static final String ID = "session-1";
+    private static final long TOTAL = 100;
+
+    @TempDir
+    Path sessionDir;
+
+    private UploadSession session;
+    private UploadSessionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        session = new UploadSession();
+        session.setId(ID);
+        session.setKind(UploadSession.Kind.USER_PHOTO);
+        session.setStatus(UploadSession.Status.OPEN);
+        session.setTotalSize(TOTAL);
+        session.setReceivedBytes(0L);
+        session.setExpiresAt(LocalDateTime.now().plusHours(1));
+
+        UploadSessionRepository repository = mock(UploadSessionRepository.class);
+        // sesi baru per findById seperti entity yang dibaca ulang dari DB
+        when(repository.findById(ID)).thenAnswer(invocation -> Optional.of(copy(session)));
+        when(repository.updateReceivedBytes(eq(ID), anyLong())).thenAnswer(invocation -> {
+            session.setReceivedBytes(invocation.getArgument(1));
+            return 1;
+        });
+        service = new UploadSessionServiceImpl(repository, mock(UploadStorage.class), new UploadInspector(),
+                mock(PlatformTransactionManager.class), 24, 5, 10_485_760);
+        ReflectionTestUtils.setField(service, "sessionDir", sessionDir.toString());
+    }
+
+    @Test
+    void parseContentRangeReadsStartEndAndTotal() {
+        assertThat(UploadSessionServiceImpl.parseContentRange("bytes 0-99/100")).containsExactly(0, 99, 100);
+        assertThat(UploadSessionServiceImpl.parseContentRange("  bytes   10-10/11 ")).containsExactly(10, 10, 11);
+    }
+
+    @Test
+    void parseContentRangeRejectsMalformedHeaders() {
+        for (String header : new String[]{null, "", "bytes 0-99/*", "bytes */100", "bytes=0-99/100",
+                "items 0-1/2", "bytes 5-4/10", "bytes -1-4/10", "bytes 0-99999999999999999999/100"}) {
+            assertThatThrownBy(() -> UploadSessionServiceImpl.parseContentRange(header))
+                    .as(String.valueOf(header))
+                    .isInstanceOf(GlobalAPIException.class)
+                    .extracting(e -> ((GlobalAPIException) e).getStatus())
+                    .isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Test
+    void chunksAppendInOrder() throws IOException {
+        assertThat(append("bytes 0-39/100", range(0, 40)).getOffset()).isEqualTo(40);
+        assertThat(append("bytes 40-99/100", range(40, 100)).getOffset()).isEqualTo(100);
+
+        assertThat(Files.readAllBytes(partFile())).isEqualTo(range(0, 100));
+    }
+
+    @Test
+    void interruptedChunkKeepsBytesThatArrived() throws IOException {
+        InputStream dropped = new InputStream() {
+            private final InputStream delegate = new ByteArrayInputStream(range(0, 30));
+
+            @Override
+            public int read() throws IOException {
+                return delegate.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = delegate.read(buffer, offset, length);
+                if (n < 0) {
+                    throw new IOException("connection reset");
+                }
+                return n;
+            }
+        };
+
+        assertThatThrownBy(() -> service.appendChunk(ID, "bytes 0-99/100", dropped)).isInstanceOf(IOException.class);
+
+        assertThat(session.getReceivedBytes()).isEqualTo(30);
+        // client GET sesi lalu lanjut dari offset 30
+        assertThat(append("bytes 30-99/100", range(30, 100)).getOffset()).isEqualTo(100);
+        assertThat(Files.readAllBytes(partFile())).isEqualTo(range(0, 100));
+    }
+
+    @Test
+    void shortBodyRecordsProgressWithoutError() throws IOException {
+        assertThat(append("bytes 0-99/100", range(0, 25)).getOffset()).isEqualTo(25);
+    }
+
+    @Test
+    void resentChunkAfterLostAckIsAccepted() throws IOException {
+        append("bytes 0-49/100", range(0, 50));
+
+        assertThat(append("bytes 20-69/100", range(20, 70)).getOffset()).isEqualTo(70);
+        assertThat(Files.readAllBytes(partFile())).isEqualTo(range(0, 70));
+    }
+
+    @Test
+    void resendingOlderBytesDoesNotMoveOffsetBack() throws IOException {
+        append("bytes 0-59/100", range(0, 60));
+
+        assertThat(append("bytes 0-9/100", range(0, 10)).getOffset()).isEqualTo(60);
+        assertThat(session.getReceivedBytes()).isEqualTo(60);
+    }
+
+    @Test
+    void gapIsRejectedWithExpectedOffset() throws IOException {
+        append("bytes 0-9/100", range(0, 10));
+
+        assertThatThrownBy(() -> append("bytes 20-29/100", range(20, 30)))
+                .isInstanceOf(GlobalAPIException.class)
+                .hasMessage("Expected upload offset 10")
+                .extracting(e -> ((GlobalAPIException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void rangeMustMatchDeclaredSize() {
+        assertThatThrownBy(() -> append("bytes 0-9/50", range(0, 10)))
+                .isInstanceOf(GlobalAPIException.class)
+                .hasMessage("Content-Range does not match upload size 100");
+        assertThatThrownBy(() -> append("bytes 95-104/100", range(0, 10)))
+                .isInstanceOf(GlobalAPIException.class)
+                .hasMessage("Content-Range does not match upload size 100");
+    }
+
+    @Test
+    void completedSessionAcceptsNoMoreChunks() {
+        session.setStatus(UploadSession.Status.FINALIZED);
+
+        assertThatThrownBy(() -> append("bytes 0-9/100", range(0, 10)))
+                .isInstanceOf(GlobalAPIException.class)
+                .extracting(e -> ((GlobalAPIException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    private UploadSessionDto append(String contentRange, byte[] body) throws IOException {
+        return service.appendChunk(ID, contentRange, new ByteArrayInputStream(body));
+    }
+
+    private Path partFile() {
+        return sessionDir.resolve(ID + ".part");
+    }
+
+    // byte ke-i bernilai i, supaya posisi yang salah kelihatan
+    private static byte[] range(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = from; i < to; i++) {
+            bytes[i - from] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static UploadSession copy(UploadSession source) {
+        UploadSession copy = new UploadSession();
+        copy.setId(source.getId());
+        copy.setKind(source.getKind());
+        copy.setStatus(source.getStatus());
+        copy.setTotalSize(source.getTotalSize());
+        copy.setReceivedBytes(source.getReceivedBytes());
+        copy.setExpiresAt(source.getExpiresAt());
+        return copy;
+    }
+}
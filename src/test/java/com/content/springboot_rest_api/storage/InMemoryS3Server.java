@@ -0,0 +1,208 @@
+package com.content.springboot_rest_api.storage;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Stand-in S3 in-memory (path-style) untuk test S3BlobStore: PUT / GET / HEAD / DELETE object,
+ * ListObjectsV2 dengan halaman kecil, dan GET lewat presigned URL.
+ * Setiap request diverifikasi ulang dengan S3RequestSigner (header Authorization atau query X-Amz-*);
+ * signature yang tidak cocok dijawab 403 SignatureDoesNotMatch seperti S3.
+ */
+final class InMemoryS3Server implements AutoCloseable {
+
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final Set<String> ALWAYS_SIGNED = Set.of("host", "x-amz-date", "x-amz-content-sha256");
+
+    private final HttpServer server;
+    private final String bucket;
+    private final S3RequestSigner verifier;
+    private final int pageSize;
+    private final Map<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    private final Map<String, String> contentTypes = new ConcurrentSkipListMap<>();
+    private final AtomicInteger rejectedSignatures = new AtomicInteger();
+    private final AtomicInteger listRequests = new AtomicInteger();
+
+    InMemoryS3Server(String bucket, String accessKey, String secretKey, String region, int pageSize) throws IOException {
+        this.bucket = bucket;
+        this.verifier = new S3RequestSigner(accessKey, secretKey, region);
+        this.pageSize = pageSize;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    Map<String, byte[]> objects() {
+        return objects;
+    }
+
+    String contentType(String key) {
+        return contentTypes.get(key);
+    }
+
+    int rejectedSignatures() {
+        return rejectedSignatures.get();
+    }
+
+    int listRequests() {
+        return listRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (!(query.containsKey("X-Amz-Signature") ? verifyPresigned(exchange, query) : verifyHeader(exchange))) {
+                rejectedSignatures.incrementAndGet();
+                respond(exchange, 403, "<Error><Code>SignatureDoesNotMatch</Code></Error>");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (!path.startsWith("/" + bucket + "/")) {
+                respond(exchange, 404, "<Error><Code>NoSuchBucket</Code></Error>");
+                return;
+            }
+            String key = path.substring(bucket.length() + 2);
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    objects.put(key, body);
+                    contentTypes.put(key, exchange.getRequestHeaders().getFirst("Content-Type"));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "HEAD" -> exchange.sendResponseHeaders(objects.containsKey(key) ? 200 : 404, -1);
+                case "DELETE" -> {
+                    objects.remove(key);
+                    contentTypes.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                case "GET" -> {
+                    if (key.isEmpty() && "2".equals(query.get("list-type"))) {
+                        respond(exchange, 200, listPage(query));
+                    } else if (objects.containsKey(key)) {
+                        byte[] content = objects.get(key);
+                        exchange.sendResponseHeaders(200, content.length == 0 ? -1 : content.length);
+                        exchange.getResponseBody().write(content);
+                    } else {
+                        respond(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                    }
+                }
+                default -> respond(exchange, 405, "<Error><Code>MethodNotAllowed</Code></Error>");
+            }
+        }
+    }
+
+    // continuation token = index key berikutnya
+    private String listPage(Map<String, String> query) {
+        listRequests.incrementAndGet();
+        String prefix = query.getOrDefault("prefix", "");
+        List<String> keys = objects.keySet().stream().filter(k -> k.startsWith(prefix)).toList();
+        int start = query.containsKey("continuation-token") ? Integer.parseInt(query.get("continuation-token")) : 0;
+        int end = Math.min(keys.size(), start + pageSize);
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                .append("<Name>").append(bucket).append("</Name>")
+                .append("<IsTruncated>").append(end < keys.size()).append("</IsTruncated>");
+        if (end < keys.size()) {
+            xml.append("<NextContinuationToken>").append(end).append("</NextContinuationToken>");
+        }
+        for (String key : keys.subList(start, end)) {
+            xml.append("<Contents><Key>").append(key).append("</Key>")
+                    .append("<LastModified>2026-01-01T00:00:00.000Z</LastModified>")
+                    .append("<Size>").append(objects.get(key).length).append("</Size></Contents>");
+        }
+        return xml.append("</ListBucketResult>").toString();
+    }
+
+    private boolean verifyHeader(HttpExchange exchange) {
+        Headers headers = exchange.getRequestHeaders();
+        String authorization = headers.getFirst("Authorization");
+        String amzDate = headers.getFirst("x-amz-date");
+        if (authorization == null || amzDate == null) {
+            return false;
+        }
+        Map<String, String> signed = new HashMap<>();
+        String signedHeaders = authorization.replaceAll(".*SignedHeaders=([^,]+),.*", "$1");
+        for (String name : signedHeaders.split(";")) {
+            if (!ALWAYS_SIGNED.contains(name)) {
+                signed.put(name, Objects.requireNonNullElse(headers.getFirst(name), ""));
+            }
+        }
+        String expected = verifier.sign(exchange.getRequestMethod(), requestUri(exchange, exchange.getRequestURI().getRawQuery()),
+                signed, headers.getFirst("x-amz-content-sha256"), parseAmzDate(amzDate)).get("Authorization");
+        return expected.equals(authorization);
+    }
+
+    private boolean verifyPresigned(HttpExchange exchange, Map<String, String> query) {
+        Instant signedAt = parseAmzDate(query.get("X-Amz-Date"));
+        Duration expires = Duration.ofSeconds(Long.parseLong(query.get("X-Amz-Expires")));
+        if (Instant.now().isAfter(signedAt.plus(expires))) {
+            return false;
+        }
+        // query selain X-Amz-* dipertahankan, X-Amz-* dibuat ulang oleh signer
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        String ownQuery = Arrays.stream(rawQuery.split("&"))
+                .filter(pair -> !pair.startsWith("X-Amz-"))
+                .collect(Collectors.joining("&"));
+        URI expected = verifier.presign(exchange.getRequestMethod(), requestUri(exchange, ownQuery.isEmpty() ? null : ownQuery),
+                expires, signedAt);
+        return expected.getRawQuery().equals(rawQuery);
+    }
+
+    private static URI requestUri(HttpExchange exchange, String rawQuery) {
+        return URI.create("http://" + exchange.getRequestHeaders().getFirst("Host") + exchange.getRequestURI().getRawPath()
+                + (rawQuery == null ? "" : "?" + rawQuery));
+    }
+
+    private static Instant parseAmzDate(String value) {
+        return LocalDateTime.parse(value, AMZ_DATE).toInstant(ZoneOffset.UTC);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                String[] parts = pair.split("=", 2);
+                query.put(parts[0], parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        // seperti S3: HEAD tanpa body, kalau tidak koneksi keep-alive yang dipakai ulang client jadi rusak
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
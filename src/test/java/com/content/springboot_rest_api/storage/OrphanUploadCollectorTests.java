@@ -0,0 +1,138 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.repository.ArticlesRepository;
+import com.content.springboot_rest_api.repository.UploadBlobRepository;
+import com.content.springboot_rest_api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * GC upload yatim: hanya file tua yang tidak direferensikan artikel / user / upload_blobs yang dihapus.
+ */
+class OrphanUploadCollectorTests {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(3));
+    private static final Instant YOUNG = Instant.now().minus(Duration.ofHours(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, List<BlobStore.BlobInfo>> blobs = new HashMap<>();
+    private final List<Object[]> thumbnailRows = new ArrayList<>();
+    private final List<String> photoRows = new ArrayList<>();
+    private final Set<String> referencedInBlobTable = new HashSet<>();
+
+    private UploadBlobRepository blobRepository;
+    private UploadStorage uploadStorage;
+    private OrphanUploadCollector collector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ArticlesRepository articlesRepository = mock(ArticlesRepository.class);
+        when(articlesRepository.streamThumbnailPaths()).thenAnswer(invocation -> thumbnailRows.stream());
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.streamPhotoPaths()).thenAnswer(invocation -> photoRows.stream());
+        blobRepository = mock(UploadBlobRepository.class);
+        when(blobRepository.findReferencedPaths(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> paths = invocation.getArgument(0);
+            return paths.stream().filter(referencedInBlobTable::contains).toList();
+        });
+        uploadStorage = mock(UploadStorage.class);
+        when(uploadStorage.deleteIfUnreferenced(anyString())).thenReturn(true);
+        BlobStore blobStore = mock(BlobStore.class);
+        when(blobStore.list(anyString())).thenAnswer(invocation ->
+                blobs.getOrDefault(invocation.<String>getArgument(0), List.of()).stream());
+
+        collector = new OrphanUploadCollector(articlesRepository, userRepository, blobRepository, uploadStorage,
+                blobStore, mock(PlatformTransactionManager.class), meterRegistry, true, 24, 2);
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedFiles() {
+        article("/uploads/photos/thumbnails/pending.png", "/uploads/photos/thumbnails/approved.png",
+                "320=/uploads/photos/thumbnails/pending_w320.jpg", "320=/uploads/photos/thumbnails/approved_w320.jpg");
+        photoRows.add("/uploads/photos/users/me.jpg");
+        blob("thumbnails/pending.png", 10, OLD);
+        blob("thumbnails/approved.png", 10, OLD);
+        blob("thumbnails/pending_w320.jpg", 10, OLD);
+        blob("thumbnails/approved_w320.jpg", 10, OLD);
+        blob("thumbnails/orphan.png", 100, OLD);
+        blob("thumbnails/just-uploaded.png", 100, YOUNG);
+        blob("users/me.jpg", 10, OLD);
+        blob("users/old-photo.jpg", 50, OLD);
+
+        collector.collect();
+
+        verify(uploadStorage).deleteIfUnreferenced("/uploads/photos/thumbnails/orphan.png");
+        verify(uploadStorage).deleteIfUnreferenced("/uploads/photos/users/old-photo.jpg");
+        verifyNoMoreInteractions(uploadStorage);
+        assertThat(meterRegistry.counter("uploads.gc.reclaimed").count()).isEqualTo(150);
+        assertThat(meterRegistry.counter("uploads.gc.deleted").count()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsFilesReferencedAgainAfterSnapshot() {
+        blob("thumbnails/reused.png", 100, OLD);
+        blob("thumbnails/orphan.png", 100, OLD);
+        referencedInBlobTable.add("/uploads/photos/thumbnails/reused.png");
+
+        collector.collect();
+
+        verify(uploadStorage).deleteIfUnreferenced("/uploads/photos/thumbnails/orphan.png");
+        verify(uploadStorage, never()).deleteIfUnreferenced("/uploads/photos/thumbnails/reused.png");
+    }
+
+    @Test
+    void fileClaimedOrReferencedDuringDeleteIsNotCounted() {
+        blob("thumbnails/raced.png", 100, OLD);
+        when(uploadStorage.deleteIfUnreferenced("/uploads/photos/thumbnails/raced.png")).thenReturn(false);
+
+        collector.collect();
+
+        assertThat(meterRegistry.counter("uploads.gc.reclaimed").count()).isZero();
+        assertThat(meterRegistry.counter("uploads.gc.deleted").count()).isZero();
+    }
+
+    @Test
+    void candidatesAreCheckedPerBatch() {
+        for (int i = 0; i < 5; i++) {
+            blob("thumbnails/orphan" + i + ".png", 1, OLD);
+        }
+
+        collector.collect();
+
+        // batch-size 2: 2 + 2 + 1
+        verify(blobRepository, times(3)).findReferencedPaths(anyCollection());
+        verify(uploadStorage, times(5)).deleteIfUnreferenced(anyString());
+    }
+
+    @Test
+    void flatAndShardedCopiesAreCountedTogether() {
+        blob("thumbnails/orphan.png", 40, OLD);
+        blob("thumbnails/orphan.png", 40, OLD);
+
+        collector.collect();
+
+        verify(uploadStorage, times(1)).deleteIfUnreferenced("/uploads/photos/thumbnails/orphan.png");
+        assertThat(meterRegistry.counter("uploads.gc.reclaimed").count()).isEqualTo(80);
+    }
+
+    private void article(String pending, String approved, String renditionsPending, String renditionsApprove) {
+        thumbnailRows.add(new Object[]{pending, approved, renditionsPending, renditionsApprove});
+    }
+
+    private void blob(String key, long size, Instant lastModified) {
+        String namespace = key.substring(0, key.indexOf('/'));
+        blobs.computeIfAbsent(namespace, ns -> new ArrayList<>()).add(new BlobStore.BlobInfo(key, size, lastModified));
+    }
+}
@@ -0,0 +1,188 @@
+package com.content.springboot_rest_api.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * S3BlobStore terhadap stand-in S3 in-memory yang memverifikasi setiap signature.
+ */
+class S3BlobStoreTests {
+
+    private static final String BUCKET = "blog-content";
+    private static final String REGION = "us-east-1";
+    private static final String ACCESS_KEY = "AKIDEXAMPLE";
+    private static final String SECRET_KEY = "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY";
+
+    private InMemoryS3Server server;
+    private S3BlobStore store;
+    // request yang memang sengaja ditandatangani salah
+    private int expectedRejections;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new InMemoryS3Server(BUCKET, ACCESS_KEY, SECRET_KEY, REGION, 2);
+        store = storeWithSecret(SECRET_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        assertThat(server.rejectedSignatures()).as("requests with bad signatures").isEqualTo(expectedRejections);
+    }
+
+    @Test
+    void putStoresObjectUnderKeyPrefix() throws IOException {
+        put("thumbnails/abc.png", "png bytes");
+
+        assertThat(server.objects()).containsOnlyKeys("app/thumbnails/abc.png");
+        assertThat(new String(server.objects().get("app/thumbnails/abc.png"), StandardCharsets.UTF_8)).isEqualTo("png bytes");
+        assertThat(server.contentType("app/thumbnails/abc.png")).isEqualTo("image/png");
+    }
+
+    @Test
+    void putAcceptsEmptyFile() throws IOException {
+        put("thumbnails/empty.png", "");
+
+        assertThat(server.objects().get("app/thumbnails/empty.png")).isEmpty();
+    }
+
+    @Test
+    void getReturnsContentOrNullWhenMissing() throws IOException {
+        put("users/photo.jpg", "jpeg bytes");
+
+        try (InputStream content = store.get("users/photo.jpg")) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("jpeg bytes");
+        }
+        assertThat(store.get("users/missing.jpg")).isNull();
+    }
+
+    @Test
+    void existsUsesHead() throws IOException {
+        put("thumbnails/abc.png", "png bytes");
+
+        assertThat(store.exists("thumbnails/abc.png")).isTrue();
+        assertThat(store.exists("thumbnails/other.png")).isFalse();
+    }
+
+    @Test
+    void deleteRemovesObjectAndIgnoresMissingKeys() throws IOException {
+        put("thumbnails/abc.png", "png bytes");
+
+        store.delete("thumbnails/abc.png");
+        store.delete("thumbnails/abc.png");
+
+        assertThat(server.objects()).isEmpty();
+    }
+
+    @Test
+    void keysAreEncodedOnceInPathAndSignature() throws IOException {
+        put("thumbnails/a b+ü.png", "odd name");
+
+        assertThat(server.objects()).containsOnlyKeys("app/thumbnails/a b+ü.png");
+        assertThat(store.exists("thumbnails/a b+ü.png")).isTrue();
+    }
+
+    @Test
+    void listFollowsContinuationTokensWithinNamespace() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            put("users/u" + i + ".jpg", "x".repeat(i));
+        }
+        put("thumbnails/abc.png", "png bytes");
+
+        List<BlobStore.BlobInfo> blobs;
+        try (Stream<BlobStore.BlobInfo> stream = store.list("users")) {
+            blobs = stream.toList();
+        }
+
+        assertThat(blobs).extracting(BlobStore.BlobInfo::key)
+                .containsExactly("users/u0.jpg", "users/u1.jpg", "users/u2.jpg", "users/u3.jpg", "users/u4.jpg");
+        assertThat(blobs).extracting(BlobStore.BlobInfo::size).containsExactly(0L, 1L, 2L, 3L, 4L);
+        // 5 key, 2 per halaman
+        assertThat(server.listRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void listIsLazy() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            put("users/u" + i + ".jpg", "x");
+        }
+
+        try (Stream<BlobStore.BlobInfo> stream = store.list("users")) {
+            assertThat(stream.findFirst()).isPresent();
+        }
+        assertThat(server.listRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void presignedUrlIsAcceptedWithoutCredentials() throws Exception {
+        put("thumbnails/abc.png", "png bytes");
+
+        URI url = store.presignGet("thumbnails/abc.png", Duration.ofMinutes(5)).orElseThrow();
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(url).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(url.getRawQuery()).contains("X-Amz-Expires=300").contains("X-Amz-Signature=");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("png bytes");
+    }
+
+    @Test
+    void presignTtlIsCappedAtSevenDays() {
+        URI url = store.presignGet("thumbnails/abc.png", Duration.ofDays(30)).orElseThrow();
+
+        assertThat(url.getRawQuery()).contains("X-Amz-Expires=604800");
+    }
+
+    @Test
+    void tamperedPresignedUrlIsRejected() throws Exception {
+        put("thumbnails/abc.png", "png bytes");
+        URI url = store.presignGet("thumbnails/abc.png", Duration.ofMinutes(5)).orElseThrow();
+        URI tampered = URI.create(url.toString().replace("thumbnails/abc.png", "thumbnails/other.png"));
+
+        int status = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(tampered).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+
+        assertThat(status).isEqualTo(403);
+        expectedRejections = 1;
+    }
+
+    @Test
+    void wrongSecretFailsWithStatus() throws IOException {
+        S3BlobStore wrong = storeWithSecret("not-the-secret");
+
+        assertThatThrownBy(() -> wrong.exists("thumbnails/abc.png"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("status 403");
+        assertThatThrownBy(() -> wrong.put("thumbnails/abc.png", new ByteArrayInputStream(new byte[1]), 1, "image/png"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("SignatureDoesNotMatch");
+        assertThat(server.objects()).isEmpty();
+        expectedRejections = 2;
+    }
+
+    private void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        store.put(key, new ByteArrayInputStream(bytes), bytes.length, key.endsWith(".png") ? "image/png" : "image/jpeg");
+    }
+
+    private S3BlobStore storeWithSecret(String secretKey) {
+        return new S3BlobStore(server.endpoint(), REGION, BUCKET, ACCESS_KEY, secretKey, true, "app/", 5000);
+    }
+}
@@ -0,0 +1,178 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.exception.GlobalAPIException;
+import com.content.springboot_rest_api.storage.UploadInspector.ImageFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deteksi format dari magic bytes / prolog SVG dan batas ukuran yang ditegakkan selama stream dibaca.
+ */
+class UploadInspectorTests {
+
+    private static final byte[] PNG = bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D);
+    private static final byte[] JPEG = bytes(0xFF, 0xD8, 0xFF, 0xE0, 0, 0x10);
+
+    private final UploadInspector inspector = new UploadInspector();
+
+    @Test
+    void sniffRecognizesBinaryFormats() {
+        assertThat(UploadInspector.sniff(PNG)).isEqualTo(ImageFormat.PNG);
+        assertThat(UploadInspector.sniff(JPEG)).isEqualTo(ImageFormat.JPEG);
+        assertThat(UploadInspector.sniff(ascii("GIF87a...."))).isEqualTo(ImageFormat.GIF);
+        assertThat(UploadInspector.sniff(ascii("GIF89a...."))).isEqualTo(ImageFormat.GIF);
+        assertThat(UploadInspector.sniff(ascii("RIFF\0\0\0\0WEBPVP8 "))).isEqualTo(ImageFormat.WEBP);
+        assertThat(UploadInspector.sniff(ascii("\0\0\0\u0018ftypheic\0\0\0\0"))).isEqualTo(ImageFormat.HEIF);
+        assertThat(UploadInspector.sniff(ascii("\0\0\0\u0018ftypmif1\0\0\0\0"))).isEqualTo(ImageFormat.HEIF);
+    }
+
+    @Test
+    void sniffRejectsLookalikes() {
+        // RIFF tanpa WEBP (mis. WAV), ISO-BMFF video, PNG terpotong, teks biasa
+        assertThat(UploadInspector.sniff(ascii("RIFF\0\0\0\0WAVEfmt "))).isNull();
+        assertThat(UploadInspector.sniff(ascii("\0\0\0\u0018ftypisom\0\0\0\0"))).isNull();
+        assertThat(UploadInspector.sniff(Arrays.copyOf(PNG, 4))).isNull();
+        assertThat(UploadInspector.sniff(ascii("hello <svg>"))).isNull();
+        assertThat(UploadInspector.sniff(new byte[0])).isNull();
+    }
+
+    @Test
+    void sniffAcceptsSvgAfterProlog() {
+        assertThat(UploadInspector.sniff(utf8("<svg xmlns=\"http://www.w3.org/2000/svg\"/>"))).isEqualTo(ImageFormat.SVG);
+        assertThat(UploadInspector.sniff(utf8("\uFEFF  <?xml version=\"1.0\"?>\n"
+                + "<!-- dibuat editor -->\n"
+                + "<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\">\n"
+                + "<svg width=\"10\"/>"))).isEqualTo(ImageFormat.SVG);
+    }
+
+    @Test
+    void sniffRejectsBrokenOrBinarySvg() {
+        assertThat(UploadInspector.sniff(utf8("<?xml version=\"1.0\"?><html/>"))).isNull();
+        assertThat(UploadInspector.sniff(utf8("<!-- komentar tanpa penutup <svg/>"))).isNull();
+        assertThat(UploadInspector.sniff(utf8("<svg\0/>"))).isNull();
+    }
+
+    @Test
+    void inspectReturnsStreamWithSniffedHead() throws IOException {
+        byte[] content = concat(PNG, new byte[3000]);
+
+        try (UploadInspector.InspectedUpload upload = inspector.inspect(
+                new MockMultipartFile("file", "photo.PNG", "image/png", content), 4096, "photo")) {
+            assertThat(upload.format()).isEqualTo(ImageFormat.PNG);
+            assertThat(upload.extension()).isEqualTo("png");
+            assertThat(upload.stream().readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void jpegExtensionAliasIsStoredAsJpg() throws IOException {
+        try (UploadInspector.InspectedUpload upload = inspector.inspect(
+                new MockMultipartFile("file", "photo.jpeg", "image/jpeg", JPEG), 4096, "photo")) {
+            assertThat(upload.extension()).isEqualTo("jpg");
+        }
+    }
+
+    @Test
+    void inspectRejectsMismatchedExtensionAndMimeType() {
+        assertBadRequest(() -> inspector.inspect(new MockMultipartFile("file", "photo.jpg", "image/jpeg", PNG), 4096, "photo"),
+                "File extension does not match file content (png)");
+        assertBadRequest(() -> inspector.inspect(new MockMultipartFile("file", "photo.png", "image/jpeg", PNG), 4096, "photo"),
+                "MIME type does not match file content (png)");
+        assertBadRequest(() -> inspector.inspect(new MockMultipartFile("file", "photo", "image/png", PNG), 4096, "photo"),
+                "Invalid file format");
+    }
+
+    @Test
+    void declaredSizeOverLimitIsRejectedBeforeReading() {
+        InputStream never = new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("stream must not be opened");
+            }
+        };
+
+        assertBadRequest(() -> inspector.inspect(() -> never, "photo.png", "image/png", 3 * 1024 * 1024, 2 * 1024 * 1024, "photo"),
+                "Maximum photo size 2 MB");
+    }
+
+    @Test
+    void limitIsEnforcedWhileStreamingWhenDeclaredSizeLies() throws IOException {
+        byte[] content = concat(PNG, new byte[5000]);
+
+        try (UploadInspector.InspectedUpload upload = inspector.inspect(
+                () -> new ByteArrayInputStream(content), "photo.png", "image/png", 100, 2048, "thumbnail")) {
+            assertBadRequest(() -> upload.stream().readAllBytes(), "Maximum thumbnail size 2 KB");
+        }
+    }
+
+    @Test
+    void limitCountsSkippedAndSingleByteReads() throws IOException {
+        byte[] content = concat(PNG, new byte[2048]);
+
+        try (UploadInspector.InspectedUpload upload = inspector.inspect(
+                () -> new ByteArrayInputStream(content), "photo.png", "image/png", 100, 2048, "thumbnail")) {
+            InputStream stream = upload.stream();
+            // head (1024 byte) sudah terbaca saat inspect; sisa batas 1024 byte
+            assertThat(stream.skip(PNG.length + 1000)).isPositive();
+            assertBadRequest(() -> {
+                while (stream.read() >= 0) {
+                    // baca per byte sampai batas terlewati
+                }
+            }, "Maximum thumbnail size 2 KB");
+        }
+    }
+
+    @Test
+    void fileExactlyAtLimitIsAccepted() throws IOException {
+        byte[] content = concat(PNG, new byte[2048 - PNG.length]);
+
+        try (UploadInspector.InspectedUpload upload = inspector.inspect(
+                () -> new ByteArrayInputStream(content), "photo.png", "image/png", content.length, 2048, "thumbnail")) {
+            assertThat(upload.stream().readAllBytes()).hasSize(2048);
+        }
+    }
+
+    private interface ThrowingCall {
+        void run() throws Exception;
+    }
+
+    private static void assertBadRequest(ThrowingCall call, String message) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(GlobalAPIException.class)
+                .hasMessage(message)
+                .extracting(e -> ((GlobalAPIException) e).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,227 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.entity.UploadBlob;
+import com.content.springboot_rest_api.repository.UploadBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Refcount upload_blobs di bawah request paralel: upload berisi sama, release bersamaan,
+ * dan upload ulang yang masuk saat file sedang dihapus.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:uploadrefcount;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.search.rebuild-on-startup=false",
+        "app.search.index-dir=",
+        "app.related.rebuild-on-startup=false",
+        "app.upload.gc.enabled=false",
+        "app.upload.shard-migration.enabled=false",
+        "app.upload.user-photo-dir=target/test-refcount/users",
+        "app.upload.article-photo-dir=target/test-refcount/thumbnails",
+        "app.storage.staging-dir=target/test-refcount/staging"
+})
+class UploadStorageConcurrencyTests {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'};
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UploadStorage uploadStorage;
+
+    @Autowired
+    private UploadBlobRepository blobRepository;
+
+    @Autowired
+    private UploadInspector uploadInspector;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private BlobStore blobStore;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        blobRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(Path.of("target/test-refcount"));
+    }
+
+    @Test
+    void parallelUploadsOfSameContentShareOneBlob() throws Exception {
+        List<String> paths = runConcurrently(this::upload);
+
+        String path = paths.get(0);
+        assertThat(paths).containsOnly(path);
+        assertThat(blobRepository.findById(path)).get().extracting(UploadBlob::getRefCount).isEqualTo(THREADS);
+        await(() -> stagingFiles() == 0);
+        assertThat(readBlob(path)).isEqualTo(PNG);
+    }
+
+    @Test
+    void parallelReleasesDeleteBlobOnceAfterLastReference() throws Exception {
+        String path = null;
+        for (int i = 0; i < THREADS; i++) {
+            path = upload();
+        }
+        String released = path;
+
+        runConcurrently(() -> {
+            uploadStorage.release(released);
+            return released;
+        });
+
+        await(() -> blobRepository.findById(released).isEmpty());
+        assertThat(blobStore.exists(UploadStorage.keyOf(released))).isFalse();
+    }
+
+    @Test
+    void releaseKeepsBlobWhileOtherReferencesRemain() throws Exception {
+        String path = upload();
+        upload();
+
+        uploadStorage.release(path);
+
+        assertThat(blobRepository.findById(path)).get().extracting(UploadBlob::getRefCount).isEqualTo(1);
+        Thread.sleep(200);
+        verify(blobStore, never()).delete(anyString());
+        assertThat(readBlob(path)).isEqualTo(PNG);
+    }
+
+    @Test
+    void reuploadDuringDeleteRewritesBlob() throws Exception {
+        String path = upload();
+        await(() -> stagingFiles() == 0);
+
+        // hapus file ditahan di tengah: klaim sudah ter-commit, blob belum terhapus
+        CountDownLatch deleteStarted = new CountDownLatch(1);
+        CountDownLatch finishDelete = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            deleteStarted.countDown();
+            assertThat(finishDelete.await(10, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        }).when(blobStore).delete(UploadStorage.keyOf(path));
+
+        uploadStorage.release(path);
+        assertThat(deleteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // blob masih ada, jadi stage melewati put; referensi baru masuk ke baris yang sedang diklaim
+        assertThat(upload()).isEqualTo(path);
+        Thread.sleep(200);
+        assertThat(stagingFiles()).as("promote waits for the claim").isEqualTo(1);
+
+        finishDelete.countDown();
+
+        await(() -> stagingFiles() == 0);
+        UploadBlob blob = blobRepository.findById(path).orElseThrow();
+        assertThat(blob.getRefCount()).isEqualTo(1);
+        assertThat(blob.getDeletingUntil()).isNull();
+        assertThat(readBlob(path)).isEqualTo(PNG);
+    }
+
+    @Test
+    void orphanDeleteSkipsBlobReferencedMeanwhile() throws Exception {
+        String path = upload();
+        await(() -> stagingFiles() == 0);
+
+        assertThat(uploadStorage.deleteIfUnreferenced(path)).isFalse();
+        assertThat(readBlob(path)).isEqualTo(PNG);
+
+        uploadStorage.release(path);
+        await(() -> blobRepository.findById(path).isEmpty());
+        assertThat(uploadStorage.deleteIfUnreferenced(path)).isTrue();
+    }
+
+    // stage di luar transaksi, attach di dalamnya, seperti service artikel / user
+    private String upload() throws IOException {
+        UploadStorage.StagedUpload staged;
+        try (UploadInspector.InspectedUpload upload = uploadInspector.inspect(
+                new MockMultipartFile("file", "photo.png", "image/png", PNG), 1024, "thumbnail")) {
+            staged = uploadStorage.stage(upload, UploadStorage.THUMBNAILS);
+        }
+        try {
+            return transactionTemplate.execute(status -> uploadStorage.attach(staged));
+        } catch (RuntimeException e) {
+            uploadStorage.discard(staged);
+            throw e;
+        }
+    }
+
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private byte[] readBlob(String path) throws IOException {
+        try (InputStream content = blobStore.get(UploadStorage.keyOf(path))) {
+            return content == null ? null : content.readAllBytes();
+        }
+    }
+
+    private static long stagingFiles() {
+        Path staging = Path.of("target/test-refcount/staging");
+        if (!Files.isDirectory(staging)) {
+            return 0;
+        }
+        try (var files = Files.list(staging)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.content.springboot_rest_api.storage;
+
+import com.content.springboot_rest_api.entity.UploadBlob;
+import com.content.springboot_rest_api.repository.UploadBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Hapus file upload: klaim & penutupnya di transaksi pendek, BlobStore.delete di luar transaksi.
+ */
+class UploadStorageTests {
+
+    private static final String PATH = "/uploads/photos/thumbnails/abc.png";
+
+    @TempDir
+    Path stagingDir;
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private UploadBlobRepository blobRepository;
+    private BlobStore blobStore;
+    private UploadStorage uploadStorage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobRepository = mock(UploadBlobRepository.class);
+        blobStore = mock(BlobStore.class);
+        doAnswer(invocation -> {
+            assertThat(transactionManager.open.get()).as("open transactions during delete").isZero();
+            return null;
+        }).when(blobStore).delete(anyString());
+        uploadStorage = new UploadStorage(blobRepository, blobStore, transactionManager,
+                mock(ApplicationEventPublisher.class), new SyncTaskExecutor(), stagingDir.toString(), 120);
+    }
+
+    @Test
+    void releasedFileIsDeletedBetweenClaimAndFinish() throws IOException {
+        UploadBlob blob = blob(0, null);
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.of(blob));
+        when(blobRepository.deleteClaimed(eq(PATH), any())).thenReturn(1);
+        Runnable onDeleted = mock(Runnable.class);
+
+        uploadStorage.onReleaseCommitted(new UploadStorage.UploadReleased(PATH, onDeleted));
+
+        var inOrder = inOrder(blobRepository, blobStore, onDeleted);
+        inOrder.verify(blobRepository).findForUpdate(PATH);
+        inOrder.verify(blobStore).delete("thumbnails/abc.png");
+        inOrder.verify(blobRepository).deleteClaimed(PATH, blob.getDeletingUntil());
+        inOrder.verify(onDeleted).run();
+        verify(blobRepository, never()).clearClaim(anyString(), any());
+        assertThat(transactionManager.committed.get()).isEqualTo(2);
+    }
+
+    @Test
+    void referencedFileIsKept() throws IOException {
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.of(blob(1, null)));
+
+        assertThat(uploadStorage.deleteIfUnreferenced(PATH)).isFalse();
+
+        verify(blobStore, never()).delete(anyString());
+    }
+
+    @Test
+    void fileClaimedByAnotherDeleterIsKept() throws IOException {
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.of(blob(0, LocalDateTime.now().plusMinutes(1))));
+
+        assertThat(uploadStorage.deleteIfUnreferenced(PATH)).isFalse();
+
+        verify(blobStore, never()).delete(anyString());
+    }
+
+    @Test
+    void expiredClaimIsTakenOver() throws IOException {
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.of(blob(0, LocalDateTime.now().minusMinutes(1))));
+        when(blobRepository.deleteClaimed(eq(PATH), any())).thenReturn(1);
+
+        assertThat(uploadStorage.deleteIfUnreferenced(PATH)).isTrue();
+
+        verify(blobStore).delete("thumbnails/abc.png");
+    }
+
+    @Test
+    void fileWithoutRowGetsPlaceholderClaim() throws IOException {
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.empty());
+        when(blobRepository.deleteClaimed(eq(PATH), any())).thenReturn(1);
+
+        assertThat(uploadStorage.deleteIfUnreferenced(PATH)).isTrue();
+
+        verify(blobRepository).save(argThat(blob -> PATH.equals(blob.getPath())
+                && blob.getRefCount() == 0 && blob.getDeletingUntil() != null));
+        verify(blobStore).delete("thumbnails/abc.png");
+    }
+
+    @Test
+    void claimIsClearedWhenFileWasReferencedDuringDelete() throws IOException {
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.of(blob(0, null)));
+        when(blobRepository.deleteClaimed(eq(PATH), any())).thenReturn(0);
+
+        assertThat(uploadStorage.deleteIfUnreferenced(PATH)).isTrue();
+
+        verify(blobRepository).clearClaim(eq(PATH), any());
+    }
+
+    @Test
+    void failedDeleteStillClosesClaim() throws IOException {
+        when(blobRepository.findForUpdate(PATH)).thenReturn(Optional.of(blob(0, null)));
+        doThrow(new IOException("boom")).when(blobStore).delete(anyString());
+
+        assertThat(uploadStorage.deleteIfUnreferenced(PATH)).isFalse();
+
+        verify(blobRepository).deleteClaimed(eq(PATH), any());
+        assertThat(transactionManager.open.get()).isZero();
+    }
+
+    @Test
+    void promoteWaitsForPendingDeleteThenRewritesBlob() throws IOException {
+        Path staged = Files.writeString(stagingDir.resolve("staged.tmp"), "png");
+        when(blobRepository.findDeletingUntil(PATH))
+                .thenReturn(Optional.of(LocalDateTime.now().plusMinutes(1)))
+                .thenReturn(Optional.empty());
+        when(blobStore.exists("thumbnails/abc.png")).thenReturn(false);
+
+        uploadStorage.onAttachCommitted(new UploadStorage.UploadAttached(
+                new UploadStorage.StagedUpload(PATH, "abc", 3, "image/png", staged)));
+
+        var inOrder = inOrder(blobRepository, blobStore);
+        inOrder.verify(blobRepository, times(2)).findDeletingUntil(PATH);
+        inOrder.verify(blobStore).put("thumbnails/abc.png", staged, "image/png");
+        assertThat(staged).doesNotExist();
+    }
+
+    private static UploadBlob blob(int refCount, LocalDateTime deletingUntil) {
+        return new UploadBlob(PATH, "abc", 3L, refCount, LocalDateTime.now(), deletingUntil);
+    }
+
+    // menghitung transaksi yang sedang terbuka
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger committed = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            open.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            open.decrementAndGet();
+            committed.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- data lama dari masa IDENTITY: id jauh di atas posisi awal entity_id_seq
+INSERT INTO users (id, full_name, username, password, email, phone_number, birth_date, job_title, location)
+VALUES (900, 'Importer', 'importer', 'secret', 'importer@example.com', '081234567890', DATE '1990-01-01', 'Editor', 'Jakarta');
+
+INSERT INTO categories (id, name, slug) VALUES (901, 'Java', 'java');
+INSERT INTO tags (id, name, slug) VALUES (902, 'Spring', 'spring');
+INSERT INTO tags (id, name, slug) VALUES (903, 'JPA', 'jpa');
+
+INSERT INTO articles (id, title, slug, content, auth_code, action_code, author_id, category_id, views, created_at)
+VALUES (5000, 'Legacy article', 'legacy-article', 'legacy content', 'A', 'A', 900, 901, 0, TIMESTAMP '2020-01-01 00:00:00');